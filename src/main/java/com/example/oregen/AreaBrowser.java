@@ -0,0 +1,172 @@
+package com.example.oregen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import com.example.oregen.OreRegenPlugin.Area;
+
+// Per-admin state for the paginated "All Build Areas" browser.
+// The view (filtered + sorted list) is rebuilt only when the area set, sort or search changes;
+// page flips just slice it, and only the visible page is ever turned into ItemStacks.
+final class AreaBrowser {
+
+    static final int PAGE_SIZE = 45;
+
+    enum Sort {
+        OWNER("Owner"), NAME("Name"), SIZE("Size"), WORLD("World"), DISTANCE("Distance");
+
+        final String label;
+
+        Sort(String label) {
+            this.label = label;
+        }
+
+        Sort next() {
+            return values()[(ordinal() + 1) % values().length];
+        }
+    }
+
+    // Shared sorted index over all areas. Sorted copies are cached per key until the area set changes,
+    // so any number of admins browsing costs one sort per change instead of one per open.
+    static final class Index {
+        private final Supplier<List<Area>> source;
+        private final OwnerHeadCache names;
+        private final Function<Area, String> areaNames;
+        private final Map<Sort, List<Area>> sorted = new EnumMap<>(Sort.class);
+        private long version;
+
+        // Area names come from loaded owner details or the plugin's resident name index
+        Index(Supplier<List<Area>> source, OwnerHeadCache names, Function<Area, String> areaNames) {
+            this.source = source;
+            this.names = names;
+            this.areaNames = areaNames;
+        }
+
+        String name(Area a) {
+            return areaNames.apply(a);
+        }
+
+        // Call after any area is added, removed, renamed, moved or transferred
+        void markChanged() {
+            version++;
+            sorted.clear();
+        }
+
+        long version() {
+            return version;
+        }
+
+        List<Area> sorted(Sort sort) {
+            return sorted.computeIfAbsent(sort, s -> {
+                List<Area> list = new ArrayList<>(source.get());
+                // Names are read once up front: lookups finishing on other threads (or LRU evictions)
+                // must not change a key mid-sort, which would break the comparator's contract
+                Map<Area, String> areaKeys = new IdentityHashMap<>();
+                Map<UUID, String> ownerKeys = new HashMap<>();
+                for (Area a : list) {
+                    areaKeys.put(a, areaNames.apply(a));
+                    if (s == Sort.OWNER) ownerKeys.computeIfAbsent(a.owner, names::name);
+                }
+                list.sort(comparator(s, areaKeys, ownerKeys));
+                return Collections.unmodifiableList(list);
+            });
+        }
+
+        private static Comparator<Area> comparator(Sort sort, Map<Area, String> areaKeys, Map<UUID, String> ownerKeys) {
+            // Total order so equal keys never swap places between opens
+            Comparator<Area> tieBreak = Comparator.<Area, String>comparing(areaKeys::get, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(a -> a.owner)
+                    .thenComparingInt(a -> a.x1)
+                    .thenComparingInt(a -> a.z1);
+            return switch (sort) {
+                case OWNER -> Comparator.<Area, String>comparing(a -> ownerKeys.get(a.owner), String.CASE_INSENSITIVE_ORDER).thenComparing(tieBreak);
+                case SIZE -> Comparator.comparingLong(Area::footprint).reversed().thenComparing(tieBreak);
+                case WORLD -> Comparator.<Area, String>comparing(a -> a.world).thenComparing(tieBreak);
+                default -> tieBreak; // NAME; DISTANCE is re-sorted per viewer
+            };
+        }
+    }
+
+    Sort sort = Sort.OWNER;
+    String query = "";
+    int page;
+
+    private List<Area> view = Collections.emptyList();
+    private long viewVersion = -1;
+    private final Area[] pageSlots = new Area[PAGE_SIZE];
+
+    // Force the view to be rebuilt on next open (sort/search changed, or distance origin moved)
+    void invalidate() {
+        viewVersion = -1;
+    }
+
+    List<Area> view(Index index, OwnerHeadCache names, Location origin) {
+        if (viewVersion == index.version()) return view;
+        List<Area> base = index.sorted(sort == Sort.DISTANCE ? Sort.NAME : sort);
+        List<Area> result;
+        if (query.isEmpty()) {
+            result = base;
+        } else {
+            String q = query.toLowerCase(Locale.ROOT);
+            result = new ArrayList<>();
+            for (Area a : base) {
+                if (index.name(a).toLowerCase(Locale.ROOT).contains(q) || names.name(a.owner).toLowerCase(Locale.ROOT).contains(q)) {
+                    result.add(a);
+                }
+            }
+        }
+        if (sort == Sort.DISTANCE && origin != null) {
+            if (result == base) result = new ArrayList<>(base);
+            result.sort(Comparator.comparingDouble(a -> distanceSquared(a, origin)));
+        }
+        view = result;
+        viewVersion = index.version();
+        return view;
+    }
+
+    int pageCount() {
+        return Math.max(1, (view.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    // Slice the current view for the current page, remembering which area sits in which slot
+    List<Area> pageItems() {
+        page = Math.max(0, Math.min(page, pageCount() - 1));
+        int from = page * PAGE_SIZE;
+        int to = Math.min(view.size(), from + PAGE_SIZE);
+        List<Area> items = view.subList(from, to);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            pageSlots[i] = i < items.size() ? items.get(i) : null;
+        }
+        return items;
+    }
+
+    Area areaAt(int slot) {
+        return slot >= 0 && slot < PAGE_SIZE ? pageSlots[slot] : null;
+    }
+
+    int resultCount() {
+        return view.size();
+    }
+
+    // Distance from the origin to the area's centre; areas in other worlds sort last
+    private static double distanceSquared(Area a, Location origin) {
+        World w = origin.getWorld();
+        if (w == null || !w.getName().equals(a.world)) return Double.MAX_VALUE;
+        double cx = (a.minX + a.maxX) / 2.0 - origin.getX();
+        double cz = (a.minZ + a.maxZ) / 2.0 - origin.getZ();
+        return cx * cx + cz * cz;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.oregen;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+import com.example.oregen.OreRegenPlugin.Area;
+
+// AreaQueryService over a snapshot of the area index: copies of every area in per-world
+// AreaTrees plus their public views, published through one volatile field so readers on any
+// thread see either the old or the new snapshot whole. Edits call invalidate(); the rebuild
+// runs once on the next tick however many edits came in.
+final class AreaQueryIndex implements AreaQueryService {
+
+    private record Snapshot(Map<String, AreaTree> trees, Map<Integer, ClaimedArea> views, Map<UUID, List<ClaimedArea>> byOwner) {}
+
+    private final Plugin plugin;
+    private final Supplier<Collection<Area>> areas; // Live areas, main thread only
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of(), Map.of());
+    private boolean rebuildQueued;
+
+    AreaQueryIndex(Plugin plugin, Supplier<Collection<Area>> areas) {
+        this.plugin = plugin;
+        this.areas = areas;
+    }
+
+    // Main thread
+    void invalidate() {
+        if (rebuildQueued) return;
+        rebuildQueued = true;
+        Bukkit.getScheduler().runTask(plugin, this::rebuild);
+    }
+
+    // Main thread
+    void rebuild() {
+        rebuildQueued = false;
+        List<Area> copies = new ArrayList<>();
+        Map<Integer, ClaimedArea> views = new HashMap<>();
+        Map<UUID, List<ClaimedArea>> byOwner = new HashMap<>();
+        for (Area a : areas.get()) {
+            Area copy = a.copy();
+            copies.add(copy);
+            ClaimedArea view = new ClaimedArea(copy.id, copy.owner, copy.world, copy.minX, copy.minZ, copy.maxX, copy.maxZ,
+                Set.copyOf(copy.getTrusted()));
+            views.put(copy.id, view);
+            byOwner.computeIfAbsent(copy.owner, k -> new ArrayList<>()).add(view);
+        }
+        byOwner.replaceAll((owner, list) -> List.copyOf(list));
+        snapshot = new Snapshot(AreaTree.build(copies), views, byOwner);
+    }
+
+    @Override
+    public ClaimedArea areaAt(Location location) {
+        return at(snapshot, location, new ArrayList<>(2));
+    }
+
+    @Override
+    public ClaimedArea[] areasAt(Location[] locations) {
+        Snapshot s = snapshot;
+        List<Area> found = new ArrayList<>(4);
+        ClaimedArea[] result = new ClaimedArea[locations.length];
+        for (int i = 0; i < locations.length; i++) result[i] = at(s, locations[i], found);
+        return result;
+    }
+
+    @Override
+    public List<ClaimedArea> areasIntersecting(String world, int minX, int minZ, int maxX, int maxZ) {
+        Snapshot s = snapshot;
+        AreaTree tree = s.trees().get(world);
+        if (tree == null) return List.of();
+        List<Area> found = new ArrayList<>();
+        tree.intersecting(minX, minZ, maxX, maxZ, found);
+        List<ClaimedArea> result = new ArrayList<>(found.size());
+        for (Area a : found) result.add(s.views().get(a.id));
+        return result;
+    }
+
+    @Override
+    public List<ClaimedArea> areasOwnedBy(UUID owner) {
+        return snapshot.byOwner().getOrDefault(owner, List.of());
+    }
+
+    @Override
+    public boolean canBuild(UUID player, Location location) {
+        ClaimedArea area = areaAt(location);
+        return area == null || area.isTrusted(player);
+    }
+
+    private static ClaimedArea at(Snapshot s, Location location, List<Area> found) {
+        World world = location == null ? null : location.getWorld();
+        if (world == null) return null;
+        AreaTree tree = s.trees().get(world.getName());
+        if (tree == null) return null;
+        found.clear();
+        tree.at(location.getBlockX(), location.getBlockY(), location.getBlockZ(), found);
+        return found.isEmpty() ? null : s.views().get(AreaTree.winner(found).id);
+    }
+}
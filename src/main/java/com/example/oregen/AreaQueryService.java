@@ -0,0 +1,32 @@
+package com.example.oregen;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.bukkit.Location;
+
+// Read-only claim lookups for other plugins, registered with Bukkit's ServicesManager:
+//
+//   AreaQueryService areas = Bukkit.getServicesManager().load(AreaQueryService.class);
+//
+// Every method may be called from any thread. Queries run against an immutable snapshot of the
+// area index that is replaced shortly (within a tick) after areas or trust lists change.
+// Where claims overlap, the area that protects a block is the same one the plugin enforces:
+// the smaller area, then the older one.
+public interface AreaQueryService {
+
+    // The area protecting this location, or null if it is unclaimed
+    ClaimedArea areaAt(Location location);
+
+    // areaAt for many locations against one snapshot; result[i] belongs to locations[i]
+    ClaimedArea[] areasAt(Location[] locations);
+
+    // Every area whose bounds intersect the box (inclusive block coordinates; areas span all heights)
+    List<ClaimedArea> areasIntersecting(String world, int minX, int minZ, int maxX, int maxZ);
+
+    // Areas owned by this player
+    List<ClaimedArea> areasOwnedBy(UUID owner);
+
+    // True if the location is unclaimed or the player owns or is trusted in the protecting area
+    boolean canBuild(UUID player, Location location);
+}
@@ -0,0 +1,392 @@
+package com.example.oregen;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.example.oregen.OreRegenPlugin.Area;
+
+// Block snapshots of build areas (snapshots/<area id>.snap), so admins can see what a claim
+// holds and roll it back after griefing without stalling the server.
+// Capture: ChunkSnapshots are taken on the main thread within a per-tick time budget and
+// encoded off-thread. Each chunk becomes a palette of its distinct block states plus
+// bit-packed palette indices for its columns over the area's height; the file is deflated.
+// Restore: the file is read and decoded off-thread, then written back chunk by chunk on the
+// main thread within the same budget, touching only blocks that differ. Main thread only,
+// apart from the encode/read tasks.
+final class AreaSnapshots {
+
+    private static final int FORMAT = 1;
+
+    // One chunk's columns: palette of block states and indices in y, z, x order
+    private record ChunkBlocks(int chunkX, int chunkZ, String[] palette, int bits, long[] packed) {
+        int index(int pos) {
+            if (bits == 0) return 0;
+            int perLong = 64 / bits;
+            return (int) ((packed[pos / perLong] >>> ((pos % perLong) * bits)) & ((1L << bits) - 1));
+        }
+    }
+
+    private record Encoded(byte[] data, Map<Material, Integer> counts) {}
+
+    private record Bounds(String world, int minX, int minZ, int maxX, int maxZ, int minY, int maxY) {
+        boolean containsColumn(int x, int z) {
+            return x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+        }
+    }
+
+    private final Plugin plugin;
+    private final IoExecutor io;
+    private final File folder;
+    private final LongSupplier tickBudgetNanos;
+    private final IntFunction<Area> areas; // Live area by id, null once deleted
+    private final Set<Integer> running = new HashSet<>(); // Area ids with a capture or restore in progress
+
+    AreaSnapshots(Plugin plugin, IoExecutor io, File folder, LongSupplier tickBudgetNanos, IntFunction<Area> areas) {
+        this.plugin = plugin;
+        this.io = io;
+        this.folder = folder;
+        this.tickBudgetNanos = tickBudgetNanos;
+        this.areas = areas;
+    }
+
+    // --- Capture ---
+
+    void capture(Area area, CommandSender requester) {
+        World world = Bukkit.getWorld(area.world);
+        if (world == null) {
+            requester.sendMessage(ChatColor.RED + "World " + area.world + " is not loaded.");
+            return;
+        }
+        if (!running.add(area.id)) {
+            requester.sendMessage(ChatColor.RED + "A snapshot or restore of this area is already running.");
+            return;
+        }
+        Bounds bounds = new Bounds(area.world, area.minX, area.minZ, area.maxX, area.maxZ,
+            Math.max(world.getMinHeight(), Area.MIN_Y), Math.min(world.getMaxHeight() - 1, Area.MAX_Y));
+        List<long[]> chunks = new ArrayList<>();
+        for (int cx = bounds.minX() >> 4; cx <= bounds.maxX() >> 4; cx++) {
+            for (int cz = bounds.minZ() >> 4; cz <= bounds.maxZ() >> 4; cz++) chunks.add(new long[] {cx, cz});
+        }
+        requester.sendMessage(ChatColor.YELLOW + "Capturing " + chunks.size() + " chunks of area #" + area.id + "...");
+        Encoded[] encoded = new Encoded[chunks.size()];
+        AtomicInteger remaining = new AtomicInteger(chunks.size());
+        new TickJob(area.id, requester) {
+            int next;
+
+            @Override
+            boolean step(long deadline) {
+                while (next < chunks.size() && System.nanoTime() < deadline) {
+                    int i = next++;
+                    int cx = (int) chunks.get(i)[0], cz = (int) chunks.get(i)[1];
+                    ChunkSnapshot snap = world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false);
+                    io.submitOrRetry(IoExecutor.Lane.SHARED, "snapshot-encode", () -> {
+                        try {
+                            encoded[i] = encodeChunk(snap, bounds);
+                        } catch (RuntimeException e) {
+                            // Left null; write() reports the capture as failed
+                            plugin.getLogger().log(Level.WARNING, "[ResourceRegen] Could not encode chunk " + cx + "," + cz + " of area #" + area.id, e);
+                        } finally {
+                            if (remaining.decrementAndGet() == 0) write(area.id, bounds, chunks, encoded, requester);
+                        }
+                    });
+                }
+                return next == chunks.size();
+            }
+        }.start();
+    }
+
+    // Encode thread: palette and packed indices for the chunk's columns, counting the area's blocks
+    private static Encoded encodeChunk(ChunkSnapshot snap, Bounds bounds) {
+        int height = bounds.maxY() - bounds.minY() + 1;
+        Map<BlockData, Integer> ids = new HashMap<>();
+        List<BlockData> palette = new ArrayList<>();
+        int[] indices = new int[height * 256];
+        Map<Material, Integer> counts = new EnumMap<>(Material.class);
+        int baseX = snap.getX() << 4, baseZ = snap.getZ() << 4;
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    BlockData data = snap.getBlockData(x, bounds.minY() + y, z);
+                    Integer id = ids.get(data);
+                    if (id == null) {
+                        id = palette.size();
+                        ids.put(data, id);
+                        palette.add(data);
+                    }
+                    indices[(y << 8) | (z << 4) | x] = id;
+                    if (!data.getMaterial().isAir() && bounds.containsColumn(baseX + x, baseZ + z)) {
+                        counts.merge(data.getMaterial(), 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        int bits = palette.size() <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(palette.size() - 1);
+        long[] packed = new long[0];
+        if (bits > 0) {
+            int perLong = 64 / bits;
+            packed = new long[(indices.length + perLong - 1) / perLong];
+            for (int pos = 0; pos < indices.length; pos++) {
+                packed[pos / perLong] |= (long) indices[pos] << ((pos % perLong) * bits);
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + packed.length * 8);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(palette.size());
+            for (BlockData data : palette) out.writeUTF(data.getAsString());
+            out.writeByte(bits);
+            out.writeInt(packed.length);
+            for (long word : packed) out.writeLong(word);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Cannot happen for an in-memory stream
+        }
+        return new Encoded(bytes.toByteArray(), counts);
+    }
+
+    // Encode thread (the last one to finish): write the file and report what the area holds.
+    // Always hands back to the main thread, which ends the capture.
+    private void write(int areaId, Bounds bounds, List<long[]> chunks, Encoded[] encoded, CommandSender requester) {
+        Map<Material, Integer> counts = new EnumMap<>(Material.class);
+        String error = null;
+        try {
+            for (Encoded e : encoded) {
+                if (e == null) throw new IOException("a chunk could not be encoded");
+            }
+            if (!folder.exists() && !folder.mkdirs()) throw new IOException("Cannot create " + folder);
+            File target = file(areaId);
+            File tmp = new File(folder, target.getName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(new FileOutputStream(tmp))))) {
+                out.writeInt(FORMAT);
+                out.writeUTF(bounds.world());
+                out.writeInt(bounds.minX());
+                out.writeInt(bounds.minZ());
+                out.writeInt(bounds.maxX());
+                out.writeInt(bounds.maxZ());
+                out.writeInt(bounds.minY());
+                out.writeInt(bounds.maxY());
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(chunks.size());
+                for (int i = 0; i < chunks.size(); i++) {
+                    out.writeInt((int) chunks.get(i)[0]);
+                    out.writeInt((int) chunks.get(i)[1]);
+                    out.writeInt(encoded[i].data().length);
+                    out.write(encoded[i].data());
+                    encoded[i].counts().forEach((m, n) -> counts.merge(m, n, Integer::sum));
+                }
+            }
+            Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "[ResourceRegen] Could not save snapshot of area #" + areaId, e);
+            error = String.valueOf(e.getMessage());
+        }
+        String failure = error;
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            running.remove(areaId);
+            if (requester instanceof Player p && !p.isOnline()) return;
+            if (failure != null) {
+                requester.sendMessage(ChatColor.RED + "Snapshot of area #" + areaId + " failed: " + failure);
+                return;
+            }
+            requester.sendMessage(ChatColor.GREEN + "Snapshot of area #" + areaId + " saved.");
+            requester.sendMessage(ChatColor.GRAY + "Contents: " + summary(counts));
+        });
+    }
+
+    private static String summary(Map<Material, Integer> counts) {
+        if (counts.isEmpty()) return "only air";
+        List<Map.Entry<Material, Integer>> top = new ArrayList<>(counts.entrySet());
+        top.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < Math.min(8, top.size()); i++) {
+            if (i > 0) text.append(", ");
+            text.append(top.get(i).getKey().name()).append(' ').append(top.get(i).getValue());
+        }
+        if (top.size() > 8) text.append(", ... (").append(top.size()).append(" block types)");
+        return text.toString();
+    }
+
+    // --- Restore ---
+
+    void restore(Area area, CommandSender requester) {
+        File file = file(area.id);
+        if (!file.exists()) {
+            requester.sendMessage(ChatColor.RED + "Area #" + area.id + " has no snapshot yet; take one first.");
+            return;
+        }
+        if (!running.add(area.id)) {
+            requester.sendMessage(ChatColor.RED + "A snapshot or restore of this area is already running.");
+            return;
+        }
+        requester.sendMessage(ChatColor.YELLOW + "Restoring area #" + area.id + " from its snapshot...");
+        io.submitOrRetry(IoExecutor.Lane.SHARED, "snapshot-read", () -> {
+            Bounds bounds;
+            List<ChunkBlocks> chunks = new ArrayList<>();
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(new FileInputStream(file))))) {
+                int format = in.readInt();
+                if (format != FORMAT) throw new IOException("Unsupported snapshot format " + format);
+                bounds = new Bounds(in.readUTF(), in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+                in.readLong(); // Capture time
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    int cx = in.readInt(), cz = in.readInt();
+                    in.readInt(); // Encoded length
+                    String[] palette = new String[in.readInt()];
+                    for (int p = 0; p < palette.length; p++) palette[p] = in.readUTF();
+                    int bits = in.readByte();
+                    long[] packed = new long[in.readInt()];
+                    for (int w = 0; w < packed.length; w++) packed[w] = in.readLong();
+                    chunks.add(new ChunkBlocks(cx, cz, palette, bits, packed));
+                }
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "[ResourceRegen] Could not read snapshot of area #" + area.id, e);
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    running.remove(area.id);
+                    requester.sendMessage(ChatColor.RED + "Could not read the snapshot: " + e.getMessage());
+                });
+                return;
+            }
+            Bounds loaded = bounds;
+            Bukkit.getScheduler().runTask(plugin, () -> startRestore(area.id, loaded, chunks, requester));
+        });
+    }
+
+    private void startRestore(int areaId, Bounds bounds, List<ChunkBlocks> chunks, CommandSender requester) {
+        World world = Bukkit.getWorld(bounds.world());
+        if (world == null) {
+            running.remove(areaId);
+            requester.sendMessage(ChatColor.RED + "World " + bounds.world() + " is not loaded.");
+            return;
+        }
+        int columnsHeight = (bounds.maxY() - bounds.minY() + 1) << 8;
+        new TickJob(areaId, requester) {
+            int chunkIndex;
+            int pos;
+            int changed;
+            Chunk chunk;
+            BlockData[] states;
+
+            @Override
+            boolean step(long deadline) {
+                // The area may have been moved, shrunk or deleted since the snapshot (or since the
+                // last tick): only columns inside both the snapshot and the current claim are written
+                Area live = areas.apply(areaId);
+                if (live == null || !live.world.equals(bounds.world())) {
+                    running.remove(areaId);
+                    if (!(requester instanceof Player p) || p.isOnline()) {
+                        requester.sendMessage(ChatColor.RED + "Restore of area #" + areaId + " stopped: the area no longer exists in "
+                            + bounds.world() + " (" + changed + " blocks changed).");
+                    }
+                    return true;
+                }
+                while (chunkIndex < chunks.size()) {
+                    ChunkBlocks blocks = chunks.get(chunkIndex);
+                    if (blocks.chunkX() < live.minX >> 4 || blocks.chunkX() > live.maxX >> 4
+                            || blocks.chunkZ() < live.minZ >> 4 || blocks.chunkZ() > live.maxZ >> 4) {
+                        chunkIndex++; // No longer part of the claim; never load it
+                        pos = 0;
+                        chunk = null;
+                        continue;
+                    }
+                    if (chunk == null) {
+                        chunk = world.getChunkAt(blocks.chunkX(), blocks.chunkZ());
+                        states = new BlockData[blocks.palette().length];
+                    }
+                    int baseX = blocks.chunkX() << 4, baseZ = blocks.chunkZ() << 4;
+                    for (; pos < columnsHeight; pos++) {
+                        if ((pos & 255) == 0 && System.nanoTime() >= deadline) return false;
+                        int x = pos & 15, z = (pos >> 4) & 15;
+                        int wx = baseX + x, wz = baseZ + z;
+                        if (!bounds.containsColumn(wx, wz) || wx < live.minX || wx > live.maxX || wz < live.minZ || wz > live.maxZ) continue;
+                        int id = blocks.index(pos);
+                        BlockData target = states[id];
+                        if (target == null) target = states[id] = Bukkit.createBlockData(blocks.palette()[id]);
+                        Block block = chunk.getBlock(x, bounds.minY() + (pos >> 8), z);
+                        if (!block.getBlockData().equals(target)) {
+                            block.setBlockData(target, false);
+                            changed++;
+                        }
+                    }
+                    chunkIndex++;
+                    pos = 0;
+                    chunk = null;
+                }
+                running.remove(areaId);
+                if (!(requester instanceof Player p) || p.isOnline()) {
+                    requester.sendMessage(ChatColor.GREEN + "Area #" + areaId + " restored (" + changed + " blocks changed).");
+                }
+                return true;
+            }
+        }.start();
+    }
+
+    private File file(int areaId) {
+        return new File(folder, areaId + ".snap");
+    }
+
+    // Main-thread work spread over ticks: step() runs each tick until it returns true. A step that
+    // throws ends the job and frees the area for the next capture or restore.
+    private abstract class TickJob implements Runnable {
+        private final int areaId;
+        private final CommandSender requester;
+        private BukkitTask task;
+
+        TickJob(int areaId, CommandSender requester) {
+            this.areaId = areaId;
+            this.requester = requester;
+        }
+
+        abstract boolean step(long deadline);
+
+        void start() {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (step(System.nanoTime() + tickBudgetNanos.getAsLong())) task.cancel();
+            } catch (RuntimeException e) {
+                task.cancel();
+                running.remove(areaId);
+                plugin.getLogger().log(Level.WARNING, "[ResourceRegen] Snapshot job for area #" + areaId + " failed", e);
+                if (!(requester instanceof Player p) || p.isOnline()) {
+                    requester.sendMessage(ChatColor.RED + "Snapshot job for area #" + areaId + " failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.oregen;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.oregen.OreRegenPlugin.Area;
+
+// Static R-tree over the XZ bounds of one world's areas (areas always span the full height).
+// Bulk loaded with Sort-Tile-Recursive packing and rebuilt whenever areas change, which is rare
+// compared to lookups; point and box queries then visit O(log n) nodes plus the matches.
+final class AreaTree {
+
+    private static final int NODE_CAPACITY = 8;
+
+    // Where areas overlap, the smaller (more specific) claim wins, then the older one
+    static final Comparator<Area> PRIORITY = Comparator.comparingLong(Area::footprint).thenComparingInt(a -> a.id);
+
+    private static final class Node {
+        final int minX, minZ, maxX, maxZ;
+        final Node[] children; // Null for leaf entries
+        final Area area; // Set for leaf entries only
+
+        Node(Area area) {
+            this.minX = area.minX;
+            this.minZ = area.minZ;
+            this.maxX = area.maxX;
+            this.maxZ = area.maxZ;
+            this.children = null;
+            this.area = area;
+        }
+
+        Node(Node[] children) {
+            int x0 = Integer.MAX_VALUE, z0 = Integer.MAX_VALUE, x1 = Integer.MIN_VALUE, z1 = Integer.MIN_VALUE;
+            for (Node c : children) {
+                x0 = Math.min(x0, c.minX);
+                z0 = Math.min(z0, c.minZ);
+                x1 = Math.max(x1, c.maxX);
+                z1 = Math.max(z1, c.maxZ);
+            }
+            this.minX = x0;
+            this.minZ = z0;
+            this.maxX = x1;
+            this.maxZ = z1;
+            this.children = children;
+            this.area = null;
+        }
+
+        long centerX() {
+            return (long) minX + maxX;
+        }
+
+        long centerZ() {
+            return (long) minZ + maxZ;
+        }
+    }
+
+    private final Node root; // Null when the world has no areas
+
+    private AreaTree(Node root) {
+        this.root = root;
+    }
+
+    // One tree per world name
+    static Map<String, AreaTree> build(Collection<Area> areas) {
+        Map<String, List<Node>> byWorld = new HashMap<>();
+        for (Area a : areas) {
+            byWorld.computeIfAbsent(a.world, k -> new ArrayList<>()).add(new Node(a));
+        }
+        Map<String, AreaTree> trees = new HashMap<>();
+        for (Map.Entry<String, List<Node>> e : byWorld.entrySet()) {
+            List<Node> level = e.getValue();
+            while (level.size() > 1) level = pack(level);
+            trees.put(e.getKey(), new AreaTree(level.get(0)));
+        }
+        return trees;
+    }
+
+    // Sort-Tile-Recursive: slice by X centre, then group each slice by Z centre
+    private static List<Node> pack(List<Node> nodes) {
+        int groups = (nodes.size() + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int slices = (int) Math.ceil(Math.sqrt(groups));
+        int sliceSize = slices * NODE_CAPACITY;
+        nodes.sort(Comparator.comparingLong(Node::centerX));
+        List<Node> parents = new ArrayList<>(groups);
+        for (int s = 0; s < nodes.size(); s += sliceSize) {
+            List<Node> slice = new ArrayList<>(nodes.subList(s, Math.min(nodes.size(), s + sliceSize)));
+            slice.sort(Comparator.comparingLong(Node::centerZ));
+            for (int g = 0; g < slice.size(); g += NODE_CAPACITY) {
+                parents.add(new Node(slice.subList(g, Math.min(slice.size(), g + NODE_CAPACITY)).toArray(new Node[0])));
+            }
+        }
+        return parents;
+    }
+
+    // Areas containing the block at x, y, z
+    void at(int x, int y, int z, List<Area> out) {
+        if (root == null || y < Area.MIN_Y || y > Area.MAX_Y) return;
+        at(root, x, z, out);
+    }
+
+    private static void at(Node node, int x, int z, List<Area> out) {
+        if (x < node.minX || x > node.maxX || z < node.minZ || z > node.maxZ) return;
+        if (node.area != null) {
+            out.add(node.area);
+            return;
+        }
+        for (Node c : node.children) at(c, x, z, out);
+    }
+
+    // Areas whose bounds intersect the box (inclusive block coordinates)
+    void intersecting(int minX, int minZ, int maxX, int maxZ, List<Area> out) {
+        if (root != null) intersecting(root, minX, minZ, maxX, maxZ, out);
+    }
+
+    private static void intersecting(Node node, int minX, int minZ, int maxX, int maxZ, List<Area> out) {
+        if (maxX < node.minX || minX > node.maxX || maxZ < node.minZ || minZ > node.maxZ) return;
+        if (node.area != null) {
+            out.add(node.area);
+            return;
+        }
+        for (Node c : node.children) intersecting(c, minX, minZ, maxX, maxZ, out);
+    }
+
+    // Highest priority area of a non-empty candidate list
+    static Area winner(List<Area> candidates) {
+        Area best = candidates.get(0);
+        for (int i = 1; i < candidates.size(); i++) {
+            if (PRIORITY.compare(candidates.get(i), best) < 0) best = candidates.get(i);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.oregen;
+
+import java.util.Set;
+import java.util.UUID;
+
+// Immutable view of one build area as returned by AreaQueryService. Bounds are inclusive
+// block coordinates; areas cover the full world height.
+public record ClaimedArea(int id, UUID owner, String world, int minX, int minZ, int maxX, int maxZ, Set<UUID> trusted) {
+
+    public boolean isTrusted(UUID player) {
+        return owner.equals(player) || trusted.contains(player);
+    }
+
+    public boolean contains(String world, int x, int z) {
+        return this.world.equals(world) && x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+    }
+}
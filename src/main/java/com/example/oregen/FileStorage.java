@@ -0,0 +1,268 @@
+package com.example.oregen;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bukkit.Material;
+
+import com.example.oregen.OreRegenPlugin.Area;
+import com.example.oregen.OreRegenPlugin.OreRecord;
+
+// File layout in the plugin data folder:
+//   areas.dat          compact index of every area (bounds, owner, trusted UUIDs), always loaded
+//   owners/<uuid>.dat  per-owner details (area names, particle settings), loaded on demand
+//   data.dat           tracked broken blocks
+// Every write goes to a temp file first and is then moved into place.
+// The block file cannot be updated in place, so the full set is kept here and rewritten per delta;
+// use the SQLite backend for large servers.
+final class FileStorage implements Storage {
+
+    private static final int AREA_FORMAT = 1;
+
+    private final File dataFolder;
+    private final File ownerFolder;
+    private final ToLongFunction<Material> legacyDelay;
+    private final Logger log;
+    private Map<String, OreRecord> blocks; // Loaded on first use
+
+    FileStorage(File dataFolder, ToLongFunction<Material> legacyDelay, Logger log) {
+        this.dataFolder = dataFolder;
+        this.ownerFolder = new File(dataFolder, "owners");
+        this.legacyDelay = legacyDelay;
+        this.log = log;
+    }
+
+    boolean hasData() {
+        return new File(dataFolder, "areas.dat").exists() || new File(dataFolder, "data.dat").exists() || !ownerIds().isEmpty();
+    }
+
+    // --- Area index ---
+
+    static byte[] encodeAreas(Collection<Area> areas, int nextId) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + areas.size() * 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(AREA_FORMAT);
+            out.writeInt(nextId);
+            out.writeInt(areas.size());
+            for (Area a : areas) {
+                out.writeInt(a.id);
+                out.writeLong(a.owner.getMostSignificantBits());
+                out.writeLong(a.owner.getLeastSignificantBits());
+                out.writeUTF(a.world);
+                out.writeInt(a.x1);
+                out.writeInt(a.y1);
+                out.writeInt(a.z1);
+                out.writeInt(a.x2);
+                out.writeInt(a.y2);
+                out.writeInt(a.z2);
+                List<UUID> trusted = a.getTrusted();
+                out.writeInt(trusted.size());
+                for (UUID t : trusted) {
+                    out.writeLong(t.getMostSignificantBits());
+                    out.writeLong(t.getLeastSignificantBits());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Cannot happen for an in-memory stream
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public LoadedAreas loadAreas() throws IOException {
+        File file = new File(dataFolder, "areas.dat");
+        if (!file.exists()) return new LoadedAreas(new ArrayList<>(), 1);
+        return decodeAreas(Files.readAllBytes(file.toPath()));
+    }
+
+    // Inverse of encodeAreas
+    static LoadedAreas decodeAreas(byte[] data) throws IOException {
+        List<Area> areas = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int format = in.readInt();
+            if (format != AREA_FORMAT) throw new IOException("Unsupported areas.dat format " + format);
+            int nextId = in.readInt();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                UUID owner = new UUID(in.readLong(), in.readLong());
+                String world = in.readUTF();
+                Area a = new Area(id, owner, world, in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+                int trusted = in.readInt();
+                for (int t = 0; t < trusted; t++) {
+                    a.addTrusted(new UUID(in.readLong(), in.readLong()));
+                }
+                areas.add(a);
+                nextId = Math.max(nextId, id + 1);
+            }
+            return new LoadedAreas(areas, nextId);
+        }
+    }
+
+    @Override
+    public void saveAreas(List<Area> areas, int nextId) throws IOException {
+        write(new File(dataFolder, "areas.dat"), encodeAreas(areas, nextId));
+    }
+
+    // --- Owner details ---
+
+    @Override
+    public OwnerDetails loadOwner(UUID owner) throws IOException {
+        File file = ownerFile(owner);
+        if (!file.exists()) return null;
+        return OwnerDetails.decode(Files.readAllBytes(file.toPath()));
+    }
+
+    @Override
+    public void saveOwners(Map<UUID, byte[]> encoded) throws IOException {
+        for (Map.Entry<UUID, byte[]> e : encoded.entrySet()) {
+            write(ownerFile(e.getKey()), e.getValue());
+        }
+    }
+
+    @Override
+    public Map<Integer, String> loadAreaNames() throws IOException {
+        Map<Integer, String> names = new HashMap<>();
+        for (UUID owner : ownerIds()) {
+            OwnerDetails d = loadOwner(owner);
+            if (d != null) addNames(d, names);
+        }
+        return names;
+    }
+
+    static void addNames(OwnerDetails d, Map<Integer, String> names) {
+        d.areas.forEach((id, info) -> {
+            if (info.name != null) names.put(id, info.name);
+        });
+    }
+
+    List<UUID> ownerIds() {
+        List<UUID> ids = new ArrayList<>();
+        String[] names = ownerFolder.list();
+        if (names == null) return ids;
+        for (String name : names) {
+            if (!name.endsWith(".dat")) continue;
+            try {
+                ids.add(UUID.fromString(name.substring(0, name.length() - 4)));
+            } catch (IllegalArgumentException ignored) {
+                // Not an owner file
+            }
+        }
+        return ids;
+    }
+
+    private File ownerFile(UUID owner) {
+        return new File(ownerFolder, owner + ".dat");
+    }
+
+    // --- Tracked blocks ---
+
+    @Override
+    public void saveBlocks(List<OreRecord> added, List<OreRecord> removed) throws IOException {
+        if (added.isEmpty() && removed.isEmpty()) return;
+        Map<String, OreRecord> all = blocks();
+        for (OreRecord rec : added) all.put(key(rec), rec);
+        for (OreRecord rec : removed) {
+            OreRecord current = all.get(key(rec));
+            if (current != null && current.regenAt == rec.regenAt) all.remove(key(rec));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + all.size() * 48);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new ArrayList<>());
+            out.writeObject(new ArrayList<>(all.values()));
+        }
+        write(new File(dataFolder, "data.dat"), bytes.toByteArray());
+    }
+
+    @Override
+    public List<OreRecord> loadBlocksDue(long from, long to, long brokenBefore, int limit) throws IOException {
+        List<OreRecord> result = new ArrayList<>();
+        for (OreRecord rec : blocks().values()) {
+            if (rec.regenAt > from && rec.regenAt <= to && rec.breakTime < brokenBefore) result.add(rec.copy());
+        }
+        result.sort(Comparator.comparingLong(r -> r.regenAt));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    @Override
+    public List<OreRecord> loadBlocksInChunk(String world, int chunkX, int chunkZ, long dueBy) throws IOException {
+        List<OreRecord> result = new ArrayList<>();
+        for (OreRecord rec : blocks().values()) {
+            if (rec.regenAt <= dueBy && (rec.x >> 4) == chunkX && (rec.z >> 4) == chunkZ && rec.world.equals(world)) {
+                result.add(rec.copy());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int capBlocks(int max) throws IOException {
+        Map<String, OreRecord> all = blocks();
+        if (all.size() <= max) return all.size();
+        List<OreRecord> soonest = new ArrayList<>(all.values());
+        soonest.sort(Comparator.comparingLong(r -> r.regenAt));
+        saveBlocks(List.of(), soonest.subList(0, all.size() - max));
+        return all.size();
+    }
+
+    @Override
+    public void close() {
+        blocks = null;
+    }
+
+    // An unreadable data.dat is moved aside (data.dat.corrupt-<time>) and tracking starts empty,
+    // rather than failing every later read and save
+    @SuppressWarnings("unchecked")
+    private Map<String, OreRecord> blocks() throws IOException {
+        if (blocks != null) return blocks;
+        Map<String, OreRecord> loaded = new HashMap<>();
+        File file = new File(dataFolder, "data.dat");
+        if (file.exists()) {
+            try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+                in.readObject(); // Legacy area slot; areas now live in areas.dat
+                for (OreRecord rec : (List<OreRecord>) in.readObject()) {
+                    if (rec.regenAt == 0) rec.regenAt = rec.breakTime + legacyDelay.applyAsLong(rec.type);
+                    loaded.put(key(rec), rec);
+                }
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                File aside = new File(dataFolder, "data.dat.corrupt-" + System.currentTimeMillis());
+                log.log(Level.SEVERE, "[ResourceRegen] Could not read data.dat, moved it to " + aside.getName() + " and starting with no tracked blocks", e);
+                Files.move(file.toPath(), aside.toPath());
+                loaded.clear();
+            }
+        }
+        blocks = loaded;
+        return blocks;
+    }
+
+    private static String key(OreRecord rec) {
+        return rec.world + ':' + rec.x + ':' + rec.y + ':' + rec.z;
+    }
+
+    private static void write(File target, byte[] data) throws IOException {
+        File dir = target.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) throw new IOException("Cannot create " + dir);
+        File tmp = new File(dir, target.getName() + ".tmp");
+        Files.write(tmp.toPath(), data);
+        Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.oregen;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Replication through a shared directory. Each batch is one file named <node>.<sequence>.delta,
+// written to a temp file and moved into place so readers never see half a batch. Sequences
+// grow per node, so a poll only reads files newer than the last one seen from that node.
+// Files older than the retention are deleted by whichever node notices them first; a node that
+// was offline longer than that misses those batches. The highest sequence read from each node is
+// kept in <node>.seen, so a restart does not replay batches that were already applied.
+final class FileTransport implements ReplicationTransport {
+
+    private static final String SUFFIX = ".delta";
+    private static final String SEEN_SUFFIX = ".seen";
+
+    private final String node;
+    private final File directory;
+    private final long retentionMillis;
+    private final Map<String, Long> lastSeen = new HashMap<>(); // Node -> highest sequence read
+    private long sequence;
+
+    FileTransport(String node, File directory, long retentionMillis) throws IOException {
+        if (node.indexOf('.') >= 0) throw new IOException("Replication node id must not contain '.': " + node);
+        if (!directory.exists() && !directory.mkdirs()) throw new IOException("Cannot create " + directory);
+        this.node = node;
+        this.directory = directory;
+        this.retentionMillis = retentionMillis;
+        this.sequence = System.currentTimeMillis(); // Stays ahead of the files of a previous run
+        loadSeen();
+    }
+
+    @Override
+    public void publish(byte[] batch) throws IOException {
+        sequence = Math.max(sequence + 1, System.currentTimeMillis());
+        String name = node + "." + sequence + SUFFIX;
+        File tmp = new File(directory, name + ".tmp");
+        Files.write(tmp.toPath(), batch);
+        Files.move(tmp.toPath(), new File(directory, name).toPath(), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public List<byte[]> poll() throws IOException {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+        if (files == null) throw new IOException("Cannot list " + directory);
+        long expired = System.currentTimeMillis() - retentionMillis;
+        List<File> fresh = new ArrayList<>();
+        for (File f : files) {
+            String name = f.getName();
+            int dot = name.indexOf('.');
+            if (dot <= 0) continue;
+            if (f.lastModified() < expired) {
+                Files.deleteIfExists(f.toPath());
+                continue;
+            }
+            String from = name.substring(0, dot);
+            if (from.equals(node)) continue;
+            if (sequenceOf(f) > lastSeen.getOrDefault(from, Long.MIN_VALUE)) fresh.add(f);
+        }
+        fresh.sort(Comparator.comparingLong(FileTransport::sequenceOf));
+        List<byte[]> batches = new ArrayList<>(fresh.size());
+        for (File f : fresh) {
+            try {
+                batches.add(Files.readAllBytes(f.toPath()));
+            } catch (NoSuchFileException e) {
+                continue; // Expired and deleted by another node in the meantime
+            }
+            lastSeen.merge(f.getName().substring(0, f.getName().indexOf('.')), sequenceOf(f), Math::max);
+        }
+        if (!batches.isEmpty()) saveSeen();
+        return batches;
+    }
+
+    @Override
+    public void close() {
+        // Nothing held open between calls
+    }
+
+    private void loadSeen() throws IOException {
+        File file = new File(directory, node + SEEN_SUFFIX);
+        if (!file.exists()) return;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())))) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) lastSeen.put(in.readUTF(), in.readLong());
+        }
+    }
+
+    private void saveSeen() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + lastSeen.size() * 32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(lastSeen.size());
+            for (Map.Entry<String, Long> e : lastSeen.entrySet()) {
+                out.writeUTF(e.getKey());
+                out.writeLong(e.getValue());
+            }
+        }
+        File tmp = new File(directory, node + SEEN_SUFFIX + ".tmp");
+        Files.write(tmp.toPath(), bytes.toByteArray());
+        Files.move(tmp.toPath(), new File(directory, node + SEEN_SUFFIX).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long sequenceOf(File f) {
+        String[] parts = f.getName().split("\\.");
+        try {
+            return parts.length == 3 ? Long.parseLong(parts[1]) : Long.MIN_VALUE;
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.oregen;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+// Item templates for the static parts of the plugin GUIs, built once on enable.
+// Inventory.setItem copies the stack, so templates are shared by every menu; never modify them.
+final class GuiItems {
+
+    // Borders
+    final ItemStack goldPane = item(Material.YELLOW_STAINED_GLASS_PANE, ChatColor.GOLD + "★");
+    final ItemStack purplePane = item(Material.PURPLE_STAINED_GLASS_PANE, ChatColor.LIGHT_PURPLE + "✦");
+    final ItemStack diamondPane = item(Material.LIGHT_BLUE_STAINED_GLASS_PANE, ChatColor.AQUA + "✦");
+    final ItemStack bluePane = item(Material.BLUE_STAINED_GLASS_PANE, ChatColor.BLUE + "★");
+
+    // Player build area list
+    final ItemStack createArea = glowing(Material.EMERALD_BLOCK, ChatColor.GREEN + "Create New Area",
+            ChatColor.YELLOW + "Click to start selecting a new area!");
+
+    // Player area edit
+    final ItemStack playerRename = item(Material.NAME_TAG, ChatColor.YELLOW + "Rename Area",
+            ChatColor.GRAY + "Click to rename this area.");
+    final ItemStack playerDelete = item(Material.RED_STAINED_GLASS, ChatColor.RED + "Delete Area",
+            ChatColor.DARK_RED + "Click to delete this area!");
+
+    // Admin area list
+    final ItemStack forceRegenAll = item(Material.DIAMOND_PICKAXE, ChatColor.RED + "Force Regen All Resources",
+            ChatColor.GRAY + "Restore all tracked blocks outside build areas");
+    final ItemStack previousPage = item(Material.ARROW, ChatColor.YELLOW + "Previous Page");
+    final ItemStack nextPage = item(Material.ARROW, ChatColor.YELLOW + "Next Page");
+    final ItemStack listConfig = item(Material.COMPARATOR, ChatColor.BLUE + "Plugin Config",
+            ChatColor.GRAY + "Edit plugin settings");
+
+    // Admin area edit
+    final ItemStack rename = glowing(Material.NAME_TAG, ChatColor.YELLOW + "Rename Area",
+            ChatColor.AQUA + "Give this area a legendary name!");
+    final ItemStack teleport1 = glowing(Material.ENDER_PEARL, ChatColor.LIGHT_PURPLE + "Teleport to Corner 1",
+            ChatColor.GRAY + "Zoom to the first corner!");
+    final ItemStack teleport2 = glowing(Material.ENDER_PEARL, ChatColor.LIGHT_PURPLE + "Teleport to Corner 2",
+            ChatColor.GRAY + "Zoom to the second corner!");
+    final ItemStack transfer = glowing(Material.PLAYER_HEAD, ChatColor.BLUE + "Transfer Ownership",
+            ChatColor.GRAY + "Give this area to another hero!");
+    final ItemStack deleteArea = glowing(Material.BARRIER, ChatColor.RED + "Delete This Area",
+            ChatColor.DARK_RED + "Click to delete your area!", ChatColor.GRAY + "This cannot be undone.");
+    final ItemStack editConfig = glowing(Material.COMPARATOR, ChatColor.BLUE + "Plugin Config",
+            ChatColor.GRAY + "Advanced settings for admins!");
+    final ItemStack forceRegenArea = glowing(Material.DIAMOND_PICKAXE, ChatColor.RED + "Force Regenerate Area",
+            ChatColor.LIGHT_PURPLE + "Restore this area from its last snapshot!");
+    final ItemStack snapshotArea = glowing(Material.BOOK, ChatColor.GOLD + "Snapshot Area",
+            ChatColor.GRAY + "Save every block in this area", ChatColor.GRAY + "and list what it holds");
+
+    // Config
+    final ItemStack saveClose = item(Material.EMERALD_BLOCK, ChatColor.GREEN + "Save & Close",
+            ChatColor.GRAY + "Apply changes and close");
+
+    // Plain named item with optional lore
+    static ItemStack item(Material type, String name, String... lore) {
+        return item(type, name, Arrays.asList(lore));
+    }
+
+    static ItemStack item(Material type, String name, List<String> lore) {
+        ItemStack stack = new ItemStack(type);
+        ItemMeta meta = stack.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(name);
+            meta.setLore(lore.isEmpty() ? Collections.emptyList() : lore);
+            stack.setItemMeta(meta);
+        }
+        return stack;
+    }
+
+    // Item with the hidden-enchant glow used for active options and main buttons
+    static ItemStack glowing(Material type, String name, String... lore) {
+        return glowing(type, name, Arrays.asList(lore));
+    }
+
+    static ItemStack glowing(Material type, String name, List<String> lore) {
+        ItemStack stack = item(type, name, lore);
+        ItemMeta meta = stack.getItemMeta();
+        if (meta != null) {
+            meta.addEnchant(Enchantment.LUCK, 1, true);
+            meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
+            stack.setItemMeta(meta);
+        }
+        return stack;
+    }
+}
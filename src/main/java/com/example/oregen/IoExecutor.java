@@ -0,0 +1,157 @@
+package com.example.oregen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+// All of the plugin's blocking work (storage, config files, player and profile lookups) runs
+// here, so the main thread only ever hands tasks over.
+//   ORDERED: one platform thread, tasks run in submission order. Storage is not thread-safe
+//            and config writes must not overtake each other.
+//   SHARED:  independent lookups. Virtual threads on Java 21+, a small platform pool on 17.
+// Each lane holds at most queue-size tasks (queued plus running). A full lane never blocks the
+// caller: submit() refuses, so deferrable work (saves, due-block fetches, replication polls)
+// backs off and runs on a later tick, and submitOrRetry() hands essential work back to the main
+// thread to try again a second later. Every task is timed by name for /oregendebug.
+final class IoExecutor implements Executor {
+
+    enum Lane { ORDERED, SHARED }
+
+    private static final long RETRY_TICKS = 20L;
+
+    private static final class Timing {
+        final LongAdder count = new LongAdder();
+        final LongAdder runNanos = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+    }
+
+    private final Plugin plugin;
+    private final int capacity;
+    private final ExecutorService ordered;
+    private final ExecutorService shared;
+    private final boolean virtual;
+    private final Semaphore orderedSlots;
+    private final Semaphore sharedSlots;
+    private final Map<String, Timing> timings = new ConcurrentHashMap<>();
+    private final AtomicInteger refused = new AtomicInteger();
+
+    IoExecutor(Plugin plugin, int capacity, int platformThreads) {
+        this.plugin = plugin;
+        this.capacity = Math.max(8, capacity);
+        this.ordered = Executors.newSingleThreadExecutor(r -> new Thread(r, "ResourceRegen-Storage"));
+        ExecutorService pool;
+        boolean isVirtual;
+        try {
+            // Java 21+; the plugin is compiled for 17, so look the factory up at runtime
+            pool = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            isVirtual = true;
+        } catch (ReflectiveOperationException e) {
+            isVirtual = false;
+            AtomicInteger n = new AtomicInteger();
+            pool = Executors.newFixedThreadPool(Math.max(1, platformThreads), r -> {
+                Thread t = new Thread(r, "ResourceRegen-IO-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        this.shared = pool;
+        this.virtual = isVirtual;
+        this.orderedSlots = new Semaphore(this.capacity);
+        this.sharedSlots = new Semaphore(this.capacity);
+    }
+
+    // Queue a task unless the lane is full; never blocks
+    boolean submit(Lane lane, String name, Runnable task) {
+        Semaphore slots = lane == Lane.ORDERED ? orderedSlots : sharedSlots;
+        if (!slots.tryAcquire()) {
+            refused.incrementAndGet();
+            return false;
+        }
+        long queued = System.nanoTime();
+        try {
+            (lane == Lane.ORDERED ? ordered : shared).execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    plugin.getLogger().log(Level.WARNING, "[ResourceRegen] I/O task '" + name + "' failed", e);
+                } finally {
+                    slots.release();
+                    record(name, start - queued, System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            throw e; // Shut down
+        }
+        return true;
+    }
+
+    // Main thread: queue a task that must not be dropped, retrying every second while the lane is full
+    void submitOrRetry(Lane lane, String name, Runnable task) {
+        if (!submit(lane, name, task)) {
+            Bukkit.getScheduler().runTaskLater(plugin, () -> submitOrRetry(lane, name, task), RETRY_TICKS);
+        }
+    }
+
+    // More than half full: deferrable work should wait so essential tasks still find room
+    boolean busy(Lane lane) {
+        return (lane == Lane.ORDERED ? orderedSlots : sharedSlots).availablePermits() < capacity / 2;
+    }
+
+    // Executor view of the ordered lane, for components that only need "run this in order"
+    @Override
+    public void execute(Runnable task) {
+        if (ordered.isShutdown()) throw new RejectedExecutionException("I/O executor is shut down");
+        submitOrRetry(Lane.ORDERED, "storage", task);
+    }
+
+    // Stop accepting work and wait for what is queued; false if it did not finish in time
+    boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        ordered.shutdown();
+        shared.shutdown();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        boolean done = ordered.awaitTermination(timeout, unit);
+        return shared.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS) && done;
+    }
+
+    private void record(String name, long waitNanos, long runNanos) {
+        Timing t = timings.computeIfAbsent(name, k -> new Timing());
+        t.count.increment();
+        t.runNanos.add(runNanos);
+        t.waitNanos.add(waitNanos);
+        t.maxNanos.accumulateAndGet(runNanos, Math::max);
+    }
+
+    // Queue depths and per-task timings since startup
+    List<String> report() {
+        List<String> lines = new ArrayList<>();
+        lines.add("I/O: ordered " + (capacity - orderedSlots.availablePermits()) + "/" + capacity
+            + ", shared " + (capacity - sharedSlots.availablePermits()) + "/" + capacity
+            + (virtual ? " (virtual threads)" : " (platform threads)") + ", refused " + refused.get());
+        for (Map.Entry<String, Timing> e : new TreeMap<>(timings).entrySet()) {
+            Timing t = e.getValue();
+            long count = t.count.sum();
+            if (count == 0) continue;
+            lines.add(String.format("  %s: %d tasks, avg %.1f ms, max %.1f ms, avg wait %.1f ms", e.getKey(), count,
+                t.runNanos.sum() / 1e6 / count, t.maxNanos.get() / 1e6, t.waitNanos.sum() / 1e6 / count));
+        }
+        return lines;
+    }
+}
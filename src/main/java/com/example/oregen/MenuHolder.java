@@ -0,0 +1,58 @@
+package com.example.oregen;
+
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+
+import com.example.oregen.OreRegenPlugin.Area;
+
+// Holder attached to every inventory the plugin opens. Click handling identifies our GUIs
+// by holder type instead of comparing window titles, and reads the bound area from here.
+// The holder also remembers what each slot shows, so menus can be re-rendered in place
+// and only slots whose item actually changed are written to the open inventory.
+final class MenuHolder implements InventoryHolder {
+
+    enum Type {
+        BUILD_AREAS,
+        PLAYER_AREA_EDIT,
+        ADMIN_AREA_LIST,
+        ADMIN_AREA_EDIT,
+        CONFIG
+    }
+
+    final Type type;
+    final Area area; // Area this menu edits, or null for list/config menus
+    private Inventory inventory;
+    private final ItemStack[] shown;
+
+    private MenuHolder(Type type, Area area, int size) {
+        this.type = type;
+        this.area = area;
+        this.shown = new ItemStack[size];
+    }
+
+    static MenuHolder create(Type type, Area area, int size, String title) {
+        MenuHolder holder = new MenuHolder(type, area, size);
+        holder.inventory = Bukkit.createInventory(holder, size, title);
+        return holder;
+    }
+
+    // Write a slot only if its content differs from what was last rendered there.
+    // Shared templates short-circuit on reference equality; dynamic items compare by value.
+    void set(int slot, ItemStack item) {
+        ItemStack current = shown[slot];
+        if (current == item || (current != null && current.equals(item))) return;
+        shown[slot] = item;
+        inventory.setItem(slot, item);
+    }
+
+    int size() {
+        return shown.length;
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+}
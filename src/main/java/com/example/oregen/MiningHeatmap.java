@@ -0,0 +1,130 @@
+package com.example.oregen;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.bukkit.Material;
+
+// Where tracked blocks are being mined, aggregated in fixed memory however many breaks come in.
+// Per-chunk counts live in a count-min sketch (conservative update: estimates never undercount
+// and rarely overcount by more than a small fraction of all breaks); the hottest chunks are kept
+// in a top-k table fed by those estimates, and per-material counts in an array by ordinal.
+// decay() halves everything so the map follows recent activity. Main thread only.
+final class MiningHeatmap {
+
+    // Order among due blocks for regeneration.hotspot-priority
+    enum Priority {
+        NONE, FIRST, LAST;
+
+        static Priority parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                return NONE;
+            }
+        }
+    }
+
+    record Hotspot(String world, int chunkX, int chunkZ) {}
+
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 4096; // Power of two; 4 x 4096 ints = 64 KB
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final int[][] cells = new int[DEPTH][WIDTH];
+    private final long[] materials = new long[Material.values().length];
+    private final Map<Hotspot, Integer> top = new HashMap<>();
+    private final int capacity;
+    private long total;
+
+    MiningHeatmap(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    void record(String world, int chunkX, int chunkZ, Material type) {
+        total++;
+        materials[type.ordinal()]++;
+        long key = key(world, chunkX, chunkZ);
+        int estimate = Integer.MAX_VALUE;
+        for (int d = 0; d < DEPTH; d++) estimate = Math.min(estimate, cells[d][index(key, d)]);
+        int next = estimate == Integer.MAX_VALUE ? estimate : estimate + 1;
+        for (int d = 0; d < DEPTH; d++) {
+            int i = index(key, d);
+            if (cells[d][i] < next) cells[d][i] = next;
+        }
+        Hotspot spot = new Hotspot(world, chunkX, chunkZ);
+        if (top.size() < capacity || top.containsKey(spot)) {
+            top.put(spot, next);
+            return;
+        }
+        Map.Entry<Hotspot, Integer> coldest = null;
+        for (Map.Entry<Hotspot, Integer> e : top.entrySet()) {
+            if (coldest == null || e.getValue() < coldest.getValue()) coldest = e;
+        }
+        if (coldest != null && next > coldest.getValue()) {
+            top.remove(coldest.getKey());
+            top.put(spot, next);
+        }
+    }
+
+    // Estimated recent breaks in this chunk
+    int heat(String world, int chunkX, int chunkZ) {
+        long key = key(world, chunkX, chunkZ);
+        int estimate = Integer.MAX_VALUE;
+        for (int d = 0; d < DEPTH; d++) estimate = Math.min(estimate, cells[d][index(key, d)]);
+        return estimate;
+    }
+
+    void decay() {
+        for (int[] row : cells) {
+            for (int i = 0; i < WIDTH; i++) row[i] >>>= 1;
+        }
+        for (int i = 0; i < materials.length; i++) materials[i] >>>= 1;
+        Iterator<Map.Entry<Hotspot, Integer>> it = top.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Hotspot, Integer> e = it.next();
+            if (e.getValue() <= 1) {
+                it.remove();
+            } else {
+                e.setValue(e.getValue() >>> 1);
+            }
+        }
+        total >>>= 1;
+    }
+
+    long total() {
+        return total;
+    }
+
+    // Hottest chunks, hottest first
+    List<Map.Entry<Hotspot, Integer>> hottest() {
+        List<Map.Entry<Hotspot, Integer>> result = new ArrayList<>(top.entrySet());
+        result.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        return result;
+    }
+
+    // Most mined materials, most first
+    List<Map.Entry<Material, Long>> topMaterials(int limit) {
+        List<Map.Entry<Material, Long>> result = new ArrayList<>();
+        Material[] values = Material.values();
+        for (int i = 0; i < materials.length; i++) {
+            if (materials[i] > 0) result.add(Map.entry(values[i], materials[i]));
+        }
+        result.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    private static long key(String world, int chunkX, int chunkZ) {
+        return ((long) chunkX << 32 | (chunkZ & 0xFFFFFFFFL)) * 31 + world.hashCode();
+    }
+
+    private static int index(long key, int row) {
+        long h = (key ^ SEEDS[row]) * 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 31;
+        return (int) h & (WIDTH - 1);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.oregen;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+// Resolves typed player names to UUIDs without blocking the caller.
+// Online players answer immediately; everyone else is looked up once off the main thread
+// and remembered in a bounded LRU. Names of unknown players resolve to null.
+// All methods must be called on the main thread; callbacks also run on the main thread.
+final class NameResolver {
+
+    private final Plugin plugin;
+    private final IoExecutor io;
+    private final Map<String, UUID> known;
+    private final Map<String, List<Consumer<UUID>>> pending = new HashMap<>();
+
+    NameResolver(Plugin plugin, IoExecutor io, int capacity) {
+        this.plugin = plugin;
+        this.io = io;
+        int max = Math.max(16, capacity);
+        this.known = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UUID> eldest) {
+                return size() > max;
+            }
+        };
+    }
+
+    void resolve(String name, Consumer<UUID> callback) {
+        Player online = Bukkit.getPlayerExact(name);
+        if (online != null) {
+            callback.accept(online.getUniqueId());
+            return;
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        UUID cached = known.get(key);
+        if (cached != null) {
+            callback.accept(cached);
+            return;
+        }
+        List<Consumer<UUID>> waiters = pending.get(key);
+        if (waiters != null) {
+            waiters.add(callback);
+            return;
+        }
+        waiters = new ArrayList<>();
+        waiters.add(callback);
+        pending.put(key, waiters);
+        io.submitOrRetry(IoExecutor.Lane.SHARED, "player-lookup", () -> {
+            @SuppressWarnings("deprecation") // Name lookups are what we want here; this runs off the main thread
+            OfflinePlayer offline = Bukkit.getOfflinePlayer(name);
+            // getOfflinePlayer invents a UUID for names it has never seen; don't trust those
+            UUID uuid = offline.hasPlayedBefore() || offline.isOnline() ? offline.getUniqueId() : null;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (uuid != null) known.put(key, uuid);
+                List<Consumer<UUID>> done = pending.remove(key);
+                if (done != null) done.forEach(c -> c.accept(uuid));
+            });
+        });
+    }
+
+    // Keep the cache current for players who joined (or changed their name)
+    void remember(Player player) {
+        known.put(player.getName().toLowerCase(Locale.ROOT), player.getUniqueId());
+    }
+}
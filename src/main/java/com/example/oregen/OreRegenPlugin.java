@@ -9,15 +9,15 @@
 package com.example.oregen;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -26,30 +26,45 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.Particle;
 import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
-import org.bukkit.enchantments.Enchantment;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
-import org.bukkit.inventory.Inventory;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.util.BoundingBox;
 
 public class OreRegenPlugin extends JavaPlugin implements Listener {
 
@@ -67,49 +82,102 @@ public class OreRegenPlugin extends JavaPlugin implements Listener {
     );
 
     // Data structures
-    private static class Area implements Serializable {
+    // Resident part of a build area: everything protection needs, kept in memory for every owner
+    // whether online or not. Display name and particle settings live in OwnerDetails (loaded lazily).
+    static class Area {
+        static final int MIN_Y = -63;
+        static final int MAX_Y = 320;
+        final int id;
         UUID owner;
-        String name;
-        Location corner1, corner2;
-        Set<UUID> trusted; // New field for trusted players
-        public Area(UUID owner, String name, Location c1, Location c2) {
+        String world;
+        int x1, y1, z1, x2, y2, z2; // Corners as set
+        int minX, maxX, minZ, maxZ; // Derived bounds
+        final BitSet trusted = new BitSet(); // Interned player ids, see PlayerIds
+        public Area(int id, UUID owner, String world, int x1, int y1, int z1, int x2, int y2, int z2) {
+            this.id = id;
             this.owner = owner;
-            this.name = name;
-            this.corner1 = c1;
-            this.corner2 = c2;
-            this.trusted = new HashSet<>();
+            this.world = world;
+            this.x1 = x1; this.y1 = y1; this.z1 = z1;
+            this.x2 = x2; this.y2 = y2; this.z2 = z2;
+            updateBounds();
+        }
+        public void setCorner1(Location loc) {
+            x1 = loc.getBlockX(); y1 = loc.getBlockY(); z1 = loc.getBlockZ();
+            updateBounds();
+        }
+        public void setCorner2(Location loc) {
+            x2 = loc.getBlockX(); y2 = loc.getBlockY(); z2 = loc.getBlockZ();
+            updateBounds();
+        }
+        private void updateBounds() {
+            minX = Math.min(x1, x2);
+            maxX = Math.max(x1, x2);
+            minZ = Math.min(z1, z2);
+            maxZ = Math.max(z1, z2);
+        }
+        public Location corner1() {
+            return new Location(Bukkit.getWorld(world), x1, y1, z1);
+        }
+        public Location corner2() {
+            return new Location(Bukkit.getWorld(world), x2, y2, z2);
         }
         public boolean contains(Location loc) {
-            int minX = Math.min(corner1.getBlockX(), corner2.getBlockX());
-            int maxX = Math.max(corner1.getBlockX(), corner2.getBlockX());
-            int minY = -63;
-            int maxY = 320;
-            int minZ = Math.min(corner1.getBlockZ(), corner2.getBlockZ());
-            int maxZ = Math.max(corner1.getBlockZ(), corner2.getBlockZ());
-            return loc.getBlockX() >= minX && loc.getBlockX() <= maxX
-                    && loc.getBlockY() >= minY && loc.getBlockY() <= maxY
-                    && loc.getBlockZ() >= minZ && loc.getBlockZ() <= maxZ;
+            World w = loc.getWorld();
+            return w != null && contains(w.getName(), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+        }
+        public boolean contains(String worldName, int x, int y, int z) {
+            return x >= minX && x <= maxX && y >= MIN_Y && y <= MAX_Y && z >= minZ && z <= maxZ
+                    && world.equals(worldName);
+        }
+        // Claimed blocks per layer; smaller claims win overlaps (AreaTree.PRIORITY)
+        public long footprint() {
+            return ((long) maxX - minX + 1) * ((long) maxZ - minZ + 1);
         }
         public boolean isTrusted(UUID player) {
-            return owner.equals(player) || trusted.contains(player);
+            if (owner.equals(player)) return true;
+            int pid = PlayerIds.find(player);
+            return pid >= 0 && trusted.get(pid);
+        }
+        // Same check with the player's interned id already at hand (see PlayerSession)
+        public boolean isTrusted(UUID player, int playerId) {
+            return owner.equals(player) || trusted.get(playerId);
+        }
+        public boolean hasTrusted(UUID player) {
+            int pid = PlayerIds.find(player);
+            return pid >= 0 && trusted.get(pid);
         }
         public void addTrusted(UUID player) {
-            trusted.add(player);
+            trusted.set(PlayerIds.intern(player));
         }
         public void removeTrusted(UUID player) {
-            trusted.remove(player);
+            int pid = PlayerIds.find(player);
+            if (pid >= 0) trusted.clear(pid);
+        }
+        public List<UUID> getTrusted() {
+            List<UUID> list = new ArrayList<>(trusted.cardinality());
+            for (int i = trusted.nextSetBit(0); i >= 0; i = trusted.nextSetBit(i + 1)) {
+                list.add(PlayerIds.uuid(i));
+            }
+            return list;
         }
-        public Set<UUID> getTrusted() {
-            return trusted;
+        // Detached copy for handing to the storage thread
+        public Area copy() {
+            Area copy = new Area(id, owner, world, x1, y1, z1, x2, y2, z2);
+            copy.trusted.or(trusted);
+            return copy;
         }
     }
 
-    private static class OreRecord implements Serializable {
+    static class OreRecord implements Serializable {
+        private static final long serialVersionUID = -5614331477757632200L;
         String world;
         int x, y, z;
         Material type;
         long breakTime;
-        public OreRecord(Location loc, Material type, long breakTime) {
+        long regenAt; // When this block is due to regenerate (0 for records saved before per-material delays)
+        transient List<OreRecord> vein; // Vein head only: every record of the vein, this one first
+        int attempts; // Times regeneration was put off because the spot was blocked; saved so the limit survives restarts
+        public OreRecord(Location loc, Material type, long breakTime, long delay) {
             World worldObj = loc.getWorld();
             this.world = (worldObj != null) ? worldObj.getName() : "world";
             this.x = loc.getBlockX();
@@ -117,57 +185,151 @@ public class OreRegenPlugin extends JavaPlugin implements Listener {
             this.z = loc.getBlockZ();
             this.type = type;
             this.breakTime = breakTime;
+            this.regenAt = breakTime + delay;
+        }
+        public OreRecord(String world, int x, int y, int z, Material type, long breakTime, long regenAt) {
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.type = type;
+            this.breakTime = breakTime;
+            this.regenAt = regenAt;
+        }
+        public OreRecord copy() {
+            OreRecord copy = new OreRecord(world, x, y, z, type, breakTime, regenAt);
+            copy.attempts = attempts;
+            return copy;
         }
         public Location getLocation() {
             World w = Bukkit.getWorld(world);
             if (w == null) return null;
             return new Location(w, x, y, z);
         }
+        // The records this queue entry restores
+        List<OreRecord> members() {
+            return vein != null ? vein : List.of(this);
+        }
     }
 
-    // Player selection state
-    private final Map<UUID, Location> selection1 = new HashMap<>();
-    private final Map<UUID, Location> selection2 = new HashMap<>();
-    private final Map<UUID, String> areaNames = new HashMap<>(); // Restored for naming mode
+    // Transient per-player state (selections, particle paging, area entry), one object per online player
+    private final Map<UUID, PlayerSession> sessions = new HashMap<>();
+    private final Map<UUID, String> areaNames = new ConcurrentHashMap<>(); // Pending chat prompts, read from the chat thread
+    // Area index for every owner, online or not; never unloaded so protection always holds
     private final Map<UUID, List<Area>> buildAreas = new HashMap<>();
-    private final List<OreRecord> brokenOres = Collections.synchronizedList(new ArrayList<>());
+    private int nextAreaId = 1;
+    // Per-world R-trees over area bounds, rebuilt lazily after any area change
+    private Map<String, AreaTree> areaTrees = new HashMap<>();
+    private boolean areaTreesStale = true;
+    private final List<Area> areaQuery = new ArrayList<>(); // Scratch list for point queries (main thread)
+    // Ordered by due time so the regen task only ever looks at the head of the queue.
+    // Storage holds every tracked block; memory holds this session's breaks plus older records
+    // due within the fetch window, so startup and memory do not grow with total history.
+    private final PriorityBlockingQueue<OreRecord> brokenOres = new PriorityBlockingQueue<>(64, Comparator.comparingLong(r -> r.regenAt));
+    private int queuedBlocks; // Blocks held by brokenOres, counting every vein member
+    // Rows from earlier sessions still only in storage (not yet due within the fetch window).
+    // max-tracked-blocks caps queuedBlocks + storedBacklog.
+    private int storedBacklog;
+    private static final long DUE_WINDOW_MS = 10 * 60 * 1000L;
+    private final long sessionStart = System.currentTimeMillis();
+    private long loadedUntil = Long.MIN_VALUE; // Older records due up to here have been fetched
+    private boolean fetchingDue;
+    private static final int FETCH_PAGE = 2000;
+    // False until the backlog of already-due records has been streamed in after startup; until then
+    // the queue head is not the true earliest record, so nothing is restored or evicted
+    private boolean blocksReady;
+    // Block changes not yet written to storage
+    private List<OreRecord> addedBlocks = new ArrayList<>();
+    private List<OreRecord> removedBlocks = new ArrayList<>();
+    // Removals that needed no block placed here (already back, or now inside a build area). Stored but
+    // never replicated: on another node the same record may still be waiting to regenerate.
+    private List<OreRecord> localRemovals = new ArrayList<>();
+    // Chunks holding due records that were skipped because the chunk was unloaded, per world
+    private final Map<String, Set<Long>> deferredChunks = new HashMap<>();
+    // Vein mode: world -> packed block position -> head of the still queued vein holding that block
+    private final Map<String, Map<Long, OreRecord>> openVeins = new HashMap<>();
+    private static final long VEIN_JOIN_WINDOW_MS = 30_000L; // Most a joining break's due time may move
+    // Breaks per chunk and material in fixed memory, for /oregenheat and regeneration.hotspot-priority
+    private MiningHeatmap heatmap;
+    private static final int HOTSPOT_LOOKAHEAD = 4; // Batches of due entries compared by heat per tick
+    private static final long HOTSPOT_MAX_WAIT_MS = 60_000L; // Overdue by this much: taken regardless of heat
+    private final List<OreRecord> dueScratch = new ArrayList<>();
+    // Regen task scratch: world -> chunk -> records due this tick, applied chunk by chunk
+    private final Map<String, Map<Long, List<OreRecord>>> regenBatch = new HashMap<>();
+    private final Map<Material, BlockData> blockData = new EnumMap<>(Material.class);
 
-    // For particle display
-    private final Set<UUID> playersInArea = ConcurrentHashMap.newKeySet();
+    // Lazily loaded per-owner area names and particle settings
+    private Storage storage;
+    private OwnerDetailCache details;
+    private NameResolver nameResolver;
 
-    // Particle settings per player
-    private final Map<UUID, Integer> particleDensity = new HashMap<>(); // 1=Low, 2=Medium, 3=High
-    private final Map<UUID, Integer> playerParticleIndex = new HashMap<>(); // Store the selected particle index (0-8) for each player
+    // Saves: edits only set dirty flags and request a save; requests within SAVE_COALESCE_TICKS
+    // collapse into one write. All storage access runs in order on a single background thread.
+    private static final long SAVE_COALESCE_TICKS = 40L;
+    private IoExecutor io; // Storage runs on its ORDERED lane
+    private boolean areasDirty;
+    private boolean saveQueued;
 
-    // Optimization config values
-    private int particleUpdateInterval;
-    private boolean showParticlesToOwnersOnly;
-    private int regenBatchSize;
-    private int saveInterval;
-    private int maxTrackedBlocks;
-    private int maxAreasPerPlayer;
+    // Sharing with other servers behind the proxy; null unless replication.enabled
+    private Replication replication;
+    private boolean replicationPolling;
 
-    // Track players in corner selection mode
-    private final Set<UUID> selectingCorners = new HashSet<>();
+    // Optimization config values; replaced as a whole on reload
+    private volatile Settings settings;
+    private BukkitTask particleTask;
+    private BukkitTask saveTask;
+    private OwnerHeadCache ownerHeads;
+    private AreaBrowser.Index areaIndex;
+    private AreaQueryIndex queryIndex; // Snapshot behind the AreaQueryService other plugins use
+    private AreaSnapshots snapshots;
+    // Custom names of every area by id, resident (unlike owner details) so the admin browser can
+    // sort and search offline owners' areas by name
+    private final Map<Integer, String> areaNameIndex = new HashMap<>();
+    private GuiItems guiItems;
+    private final Map<UUID, AreaBrowser> adminBrowsers = new HashMap<>();
+    private final Set<UUID> adminSearchMode = ConcurrentHashMap.newKeySet();
+    private boolean areasLoaded; // Set once the area index is in; until then nothing may be saved
 
-    // Track current particle page per player
-    private final Map<UUID, Integer> particlePage = new HashMap<>();
     private static final int PARTICLES_PER_PAGE = 5;
 
     @Override
     public void onEnable() {
         saveDefaultConfig();
         reloadConfig();
-        particleUpdateInterval = getConfig().getInt("particle.update-interval", 5);
-        showParticlesToOwnersOnly = getConfig().getBoolean("particle.show-to-owners-only", true);
-        regenBatchSize = getConfig().getInt("regeneration.batch-size", 2);
-        saveInterval = getConfig().getInt("regeneration.save-interval", 6000);
-        maxTrackedBlocks = getConfig().getInt("regeneration.max-tracked-blocks", 10000);
-        maxAreasPerPlayer = getConfig().getInt("area.max-areas-per-player", 3);
+        settings = Settings.read(getConfig(), getLogger());
+        io = new IoExecutor(this, getConfig().getInt("io.queue-size", 256), getConfig().getInt("io.threads", 4));
+        // Resolved names change the owner sort order
+        ownerHeads = new OwnerHeadCache(this, io, getConfig().getInt("cache.owner-heads", 512), () -> areaIndex.markChanged());
+        storage = openStorage(getConfig().getString("data.storage", "sqlite"));
+        details = new OwnerDetailCache(this, storage, io, getConfig().getInt("cache.owner-details", 256));
+        nameResolver = new NameResolver(this, io, getConfig().getInt("cache.player-names", 1024));
+        guiItems = new GuiItems();
+        areaIndex = new AreaBrowser.Index(() -> buildAreas.values().stream().flatMap(List::stream).toList(), ownerHeads, this::areaName);
+        // Protection needs the area index before any event can fire, so this is the one blocking load;
+        // tracked blocks stream in afterwards on the storage thread
+        if (!loadAreaIndex()) {
+            // Running without the index would leave every claim unprotected and the next area save
+            // would overwrite the stored index with an empty one
+            getLogger().severe("[ResourceRegen] Disabling: the area index could not be loaded");
+            Bukkit.getPluginManager().disablePlugin(this);
+            return;
+        }
+        loadAreaNames();
+        capStoredBlocks();
+        heatmap = new MiningHeatmap(getConfig().getInt("heatmap.top-chunks", 20));
+        long decayTicks = Math.max(1, getConfig().getLong("heatmap.decay-interval", 60)) * 1200L;
+        Bukkit.getScheduler().runTaskTimer(this, () -> heatmap.decay(), decayTicks, decayTicks);
+        queryIndex = new AreaQueryIndex(this, () -> buildAreas.values().stream().flatMap(List::stream).toList());
+        queryIndex.rebuild();
+        Bukkit.getServicesManager().register(AreaQueryService.class, queryIndex, this, ServicePriority.Normal);
+        openReplication();
+        snapshots = new AreaSnapshots(this, io, new File(getDataFolder(), "snapshots"), () -> settings.snapshotTickBudget, this::findArea);
+        for (Player p : Bukkit.getOnlinePlayers()) { // Plugin reload with players online
+            startSession(p);
+        }
         Bukkit.getPluginManager().registerEvents(this, this);
-        loadDataAsync(); // Use async load
         startOreRegenTask();
-        startParticleTask();
+        applySettings(settings); // Starts the particle and save tasks
         // Register /buildarea command to open the GUI
         getCommand("buildarea").setExecutor((sender, command, label, args) -> {
             if (sender instanceof Player player) {
@@ -184,45 +346,328 @@ public class OreRegenPlugin extends JavaPlugin implements Listener {
                     player.sendMessage(ChatColor.RED + "You do not have permission to use this command.");
                     return true;
                 }
+                AreaBrowser browser = adminBrowsers.get(player.getUniqueId());
+                if (browser != null) browser.invalidate(); // Re-sort by distance from where the admin is now
                 openAdminAreaListGUI(player);
                 return true;
             }
             sender.sendMessage("Players only.");
             return true;
         });
-        // Schedule periodic async data save
-        Bukkit.getScheduler().runTaskTimerAsynchronously(this, () -> {
-            saveData();
-            unloadOfflinePlayerData();
-        }, saveInterval, saveInterval);
+        // Reload config.yml without a restart
+        getCommand("oregenreload").setExecutor((sender, command, label, args) -> {
+            if (!sender.hasPermission("oregen.admin")) {
+                sender.sendMessage(ChatColor.RED + "You do not have permission to use this command.");
+                return true;
+            }
+            reloadSettings(sender);
+            return true;
+        });
+        getCommand("oregenheat").setExecutor((sender, command, label, args) -> {
+            if (!sender.hasPermission("oregen.admin")) {
+                sender.sendMessage(ChatColor.RED + "You do not have permission to use this command.");
+                return true;
+            }
+            showHeatmap(sender);
+            return true;
+        });
+    }
+
+    // Hottest chunks and materials by recent tracked breaks (estimates; counts halve every decay interval)
+    private void showHeatmap(CommandSender sender) {
+        sender.sendMessage(ChatColor.GOLD + "[ResourceRegen] Mining hotspots (" + heatmap.total() + " recent breaks):");
+        List<Map.Entry<MiningHeatmap.Hotspot, Integer>> hottest = heatmap.hottest();
+        if (hottest.isEmpty()) sender.sendMessage(ChatColor.GRAY + "No tracked blocks mined recently.");
+        for (Map.Entry<MiningHeatmap.Hotspot, Integer> e : hottest) {
+            MiningHeatmap.Hotspot spot = e.getKey();
+            sender.sendMessage(ChatColor.YELLOW + spot.world() + " chunk " + spot.chunkX() + ", " + spot.chunkZ()
+                + ChatColor.GRAY + " (blocks " + (spot.chunkX() << 4) + ", " + (spot.chunkZ() << 4) + "): "
+                + ChatColor.AQUA + "~" + e.getValue());
+        }
+        StringBuilder materials = new StringBuilder();
+        for (Map.Entry<Material, Long> e : heatmap.topMaterials(5)) {
+            if (materials.length() > 0) materials.append(ChatColor.GRAY).append(", ");
+            materials.append(ChatColor.AQUA).append(e.getKey().name()).append(ChatColor.GRAY).append(" ").append(e.getValue());
+        }
+        if (materials.length() > 0) sender.sendMessage(ChatColor.YELLOW + "Top materials: " + materials);
+    }
+
+    // Read config.yml and compile settings off the main thread, then swap them in on the main thread.
+    // Keys missing from the file fall back to the jar defaults, as at startup; a file that cannot be
+    // read or parsed leaves the current configuration untouched.
+    private void reloadSettings(CommandSender sender) {
+        File file = new File(getDataFolder(), "config.yml");
+        Configuration defaults = getConfig().getDefaults();
+        boolean queued = io.submit(IoExecutor.Lane.ORDERED, "config-reload", () -> {
+            YamlConfiguration loaded = new YamlConfiguration();
+            try {
+                loaded.load(file);
+            } catch (IOException | InvalidConfigurationException e) {
+                getLogger().log(Level.WARNING, "[ResourceRegen] Could not reload config.yml", e);
+                Bukkit.getScheduler().runTask(this, () -> sender.sendMessage(ChatColor.RED
+                    + "[ResourceRegen] config.yml could not be read, keeping the current settings: " + e.getMessage()));
+                return;
+            }
+            if (defaults != null) loaded.setDefaults(defaults);
+            Settings next = Settings.read(loaded, getLogger());
+            Bukkit.getScheduler().runTask(this, () -> {
+                copyConfig(loaded, getConfig());
+                applySettings(next);
+                sender.sendMessage(ChatColor.GREEN + "[ResourceRegen] Configuration reloaded.");
+            });
+        });
+        if (!queued) sender.sendMessage(ChatColor.RED + "[ResourceRegen] Storage is busy, try again in a moment.");
+    }
+
+    // Replace the live FileConfiguration's contents (values and comments) with a freshly loaded file
+    private static void copyConfig(FileConfiguration from, FileConfiguration to) {
+        for (String key : to.getKeys(false)) to.set(key, null);
+        for (String key : from.getKeys(true)) {
+            if (!from.isConfigurationSection(key)) to.set(key, from.get(key));
+            to.setComments(key, from.getComments(key));
+            to.setInlineComments(key, from.getInlineComments(key));
+        }
+    }
+
+    // Swap in new settings; tasks whose interval changed are rescheduled, the rest pick the
+    // new values up on their next run. Storage type and cache sizes only apply on restart.
+    private void applySettings(Settings next) {
+        Settings prev = particleTask == null ? null : settings;
+        settings = next;
+        if (prev == null || prev.particleUpdateInterval != next.particleUpdateInterval) {
+            if (particleTask != null) particleTask.cancel();
+            particleTask = startParticleTask();
+        }
+        if (prev == null || prev.saveInterval != next.saveInterval) {
+            if (saveTask != null) saveTask.cancel();
+            // Periodic save (snapshot on the main thread, written async)
+            saveTask = Bukkit.getScheduler().runTaskTimer(this, () -> {
+                saveDataAsync();
+                unloadOfflinePlayerData();
+            }, next.saveInterval, next.saveInterval);
+        }
+        enforceMaxTrackedBlocks();
+    }
+
+    // Config GUI edits go into the FileConfiguration (so Save writes them) and apply immediately
+    private void updateConfig(String path, Object value) {
+        getConfig().set(path, value);
+        applySettings(settings.with(getConfig(), getLogger(), path));
+    }
+
+    // Write config.yml off the main thread; the YAML text is produced here so the write sees a consistent copy
+    private void saveConfigAsync() {
+        String yaml = getConfig().saveToString();
+        File file = new File(getDataFolder(), "config.yml");
+        io.submitOrRetry(IoExecutor.Lane.ORDERED, "config-save", () -> {
+            try {
+                Files.writeString(file.toPath(), yaml);
+            } catch (IOException e) {
+                getLogger().log(Level.WARNING, "[ResourceRegen] Could not save config.yml", e);
+            }
+        });
     }
 
     @Override
     public void onDisable() {
-        saveData(); // Use sync save to ensure data is written before shutdown
+        Bukkit.getServicesManager().unregisterAll(this);
+        // Let queued writes finish first so the final sync save is the last one on disk
+        try {
+            if (!io.shutdown(10, TimeUnit.SECONDS)) {
+                getLogger().warning("[ResourceRegen] Timed out waiting for pending saves");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Use sync save to ensure data is written before shutdown. Skipped if startup was aborted
+        // before the area index loaded: saving then would overwrite the stored index.
+        if (areasLoaded) saveData();
+        storage.close();
+        if (replication != null) replication.close();
+    }
+
+    // Start sharing changes if configured. Read once at startup, like the storage backend.
+    private void openReplication() {
+        if (!getConfig().getBoolean("replication.enabled", false)) return;
+        String node = getConfig().getString("replication.node-id", "");
+        if (node == null || node.isEmpty()) node = "server-" + getServer().getPort();
+        String dir = getConfig().getString("replication.directory", "");
+        File directory = dir == null || dir.isEmpty() ? new File(getDataFolder(), "replication") : new File(dir);
+        try {
+            replication = new Replication(ReplicationTransport.open(getConfig().getString("replication.transport", "file"),
+                node, directory, Math.max(60, getConfig().getLong("replication.retention", 3600)) * 1000L));
+        } catch (IOException e) {
+            getLogger().log(Level.WARNING, "[ResourceRegen] Replication disabled", e);
+            return;
+        }
+        long interval = Math.max(1, getConfig().getLong("replication.poll-interval", 20));
+        Bukkit.getScheduler().runTaskTimer(this, () -> {
+            if (replicationPolling || io.busy(IoExecutor.Lane.ORDERED)) return;
+            replicationPolling = io.submit(IoExecutor.Lane.ORDERED, "replication-poll", this::pollReplication);
+        }, interval, interval);
+        getLogger().info("[ResourceRegen] Replicating as " + node + " via " + directory);
+    }
+
+    // Storage thread: fetch batches from other nodes and store their block changes, then hand the
+    // rest to the main thread
+    private void pollReplication() {
+        List<Replication.Delta> deltas;
+        try {
+            deltas = replication.poll();
+            for (Replication.Delta d : deltas) storage.saveBlocks(d.addedBlocks, d.removedBlocks);
+        } catch (IOException e) {
+            getLogger().log(Level.WARNING, "[ResourceRegen] Replication poll failed", e);
+            deltas = List.of();
+        }
+        List<Replication.Delta> received = deltas;
+        Bukkit.getScheduler().runTask(this, () -> {
+            replicationPolling = false;
+            for (Replication.Delta d : received) applyRemote(d);
+        });
+    }
+
+    // Apply another node's changes to the in-memory index. Areas are replaced by id; the local
+    // save then persists them without publishing them again.
+    private void applyRemote(Replication.Delta delta) {
+        if (!delta.areas.isEmpty() || !delta.deletedAreas.isEmpty()) {
+            Set<Integer> replaced = new HashSet<>(delta.deletedAreas);
+            for (Area a : delta.areas) replaced.add(a.id);
+            for (List<Area> list : buildAreas.values()) {
+                list.removeIf(a -> {
+                    if (!replaced.contains(a.id)) return false;
+                    if (delta.deletedAreas.contains(a.id)) forgetAreaDetails(a);
+                    return true;
+                });
+            }
+            for (Area a : delta.areas) {
+                buildAreas.computeIfAbsent(a.owner, k -> new ArrayList<>()).add(a);
+                nextAreaId = Math.max(nextAreaId, a.id + 1);
+            }
+            areasDirty = true;
+            areaTreesStale = true;
+            areaIndex.markChanged();
+            queryIndex.invalidate();
+            requestSave();
+        }
+        for (Replication.Rename r : delta.renames) {
+            withDetails(r.owner(), owner -> {
+                setAreaName(owner, r.areaId(), r.name());
+                areaIndex.markChanged();
+                requestSave();
+            });
+        }
+        // Rows are already stored; drop what the other node restored or evicted, matching position
+        // and due time as storage does, and keep the additions the due-window fetch would not bring in
+        if (!delta.removedBlocks.isEmpty()) dropRemote(delta.removedBlocks);
+        for (OreRecord rec : delta.addedBlocks) {
+            if (rec.breakTime < sessionStart && rec.regenAt > loadedUntil) {
+                storedBacklog++;
+                continue;
+            }
+            // Only veins with the same due time, so memory keeps the regen_at that was stored
+            if (!settings.veinMode || !joinVein(rec, 0)) enqueue(rec);
+        }
+        if (!delta.addedBlocks.isEmpty()) enforceMaxTrackedBlocks();
     }
 
-    // Block break event (track all blocks outside build areas)
+    // Remove queued records (or vein members) another node has already dealt with. The remaining
+    // members of a vein that lost some are queued again, rejoining each other where they touch.
+    private void dropRemote(List<OreRecord> removed) {
+        Set<String> gone = new HashSet<>();
+        for (OreRecord rec : removed) gone.add(rowKey(rec));
+        List<OreRecord> survivors = new ArrayList<>();
+        Iterator<OreRecord> it = brokenOres.iterator();
+        while (it.hasNext()) {
+            OreRecord head = it.next();
+            List<OreRecord> members = head.members();
+            if (members.stream().noneMatch(m -> gone.contains(rowKey(m)))) continue;
+            it.remove();
+            queuedBlocks -= members.size();
+            forgetVein(head);
+            for (OreRecord m : members) {
+                if (gone.contains(rowKey(m))) continue;
+                m.vein = null;
+                survivors.add(m);
+            }
+        }
+        for (OreRecord m : survivors) {
+            if (!settings.veinMode || !joinVein(m, 0)) enqueue(m);
+        }
+    }
+
+    private static String rowKey(OreRecord rec) {
+        return rec.world + ':' + rec.x + ':' + rec.y + ':' + rec.z + ':' + rec.regenAt;
+    }
+
+    private Storage openStorage(String type) {
+        try {
+            return Storage.open(getDataFolder(), type, this::legacyDelay, getLogger());
+        } catch (IOException e) {
+            getLogger().log(Level.SEVERE, "[ResourceRegen] Could not import old data into " + type + " storage, using file storage", e);
+            return new FileStorage(getDataFolder(), this::legacyDelay, getLogger());
+        }
+    }
+
+    // Due delay for records saved before per-material delays existed
+    private long legacyDelay(Material type) {
+        RegenPolicy policy = settings.regenPolicy;
+        long delay = policy.delayFor(type);
+        return delay == RegenPolicy.UNTRACKED ? policy.defaultDelay() : delay;
+    }
+
+    // Block break event (track policy-listed blocks outside build areas)
     // Protection: Only owner or trusted can break blocks in their area
     @EventHandler
     public void onBlockBreak(BlockBreakEvent event) {
         Player player = event.getPlayer();
+        UUID uuid = player.getUniqueId();
+        PlayerSession session = sessions.get(uuid); // Null for fake players from other plugins
         Location loc = event.getBlock().getLocation();
-        for (List<Area> areas : buildAreas.values()) {
-            for (Area area : areas) {
-                if (area.contains(loc)) {
-                    if (!area.isTrusted(player.getUniqueId())) {
-                        player.sendMessage(ChatColor.RED + "You are not trusted in this area.");
-                        event.setCancelled(true);
-                        return;
-                    }
-                }
-            }
+        // Where claims overlap, the highest priority area decides (see AreaTree.PRIORITY)
+        Area area = areaAt(loc);
+        if (area != null && (session != null ? !area.isTrusted(uuid, session.id) : !area.isTrusted(uuid))) {
+            player.sendMessage(ChatColor.RED + "You are not trusted in this area.");
+            event.setCancelled(true);
+            return;
         }
+        // Filter by material and world before anything else so untracked blocks cost one array read
+        Material type = event.getBlock().getType();
+        long delay = settings.regenPolicy.delayFor(loc.getWorld(), type);
+        if (delay == RegenPolicy.UNTRACKED) return;
         // Don't track inside build areas
-        if (isInAnyBuildArea(loc)) return;
-        brokenOres.add(new OreRecord(loc, event.getBlock().getType(), System.currentTimeMillis()));
+        if (area != null) return;
+        OreRecord rec = new OreRecord(loc, type, System.currentTimeMillis(), delay);
+        heatmap.record(rec.world, rec.x >> 4, rec.z >> 4, type);
+        if (!settings.veinMode || !joinVein(rec, VEIN_JOIN_WINDOW_MS)) enqueue(rec);
+        addedBlocks.add(rec);
         enforceMaxTrackedBlocks();
+        requestSave();
+    }
+
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        startSession(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        UUID uuid = event.getPlayer().getUniqueId();
+        sessions.remove(uuid);
+        details.unpin(uuid);
+    }
+
+    // Create the player's session, keep cached owner names/heads current (players may have renamed
+    // since last login) and bring the player's own area details into memory while they are online
+    private void startSession(Player player) {
+        UUID uuid = player.getUniqueId();
+        PlayerSession session = new PlayerSession(player);
+        sessions.put(uuid, session);
+        ownerHeads.refresh(player);
+        nameResolver.remember(player);
+        details.pin(uuid);
+        withDetails(uuid, d -> {
+            if (sessions.get(uuid) == session) session.details = d;
+        });
     }
 
     // Particle display and entry/exit notifications for multiple areas
@@ -230,43 +675,83 @@ public class OreRegenPlugin extends JavaPlugin implements Listener {
     public void onPlayerMove(PlayerMoveEvent event) {
         Player p = event.getPlayer();
         UUID uuid = p.getUniqueId();
+        PlayerSession session = sessions.get(uuid);
+        if (session == null) return;
         Location loc = p.getLocation();
-        List<Area> areas = getPlayerAreas(uuid);
-        boolean found = false;
+        // The player's own area at this spot; if several of theirs overlap, the same priority as protection
         Area insideArea = null;
-        for (Area area : areas) {
-            if (area.contains(loc)) {
-                found = true;
+        List<Area> here = areasAt(loc);
+        for (Area area : here) {
+            if (area.owner.equals(uuid) && (insideArea == null || AreaTree.PRIORITY.compare(area, insideArea) < 0)) {
                 insideArea = area;
-                break;
             }
         }
-        if (found && insideArea != null) {
-            int idx = playerParticleIndex.getOrDefault(uuid, 0);
-            Particle currentType = SELECTABLE_PARTICLES.get(idx);
-            showAreaParticles(p, insideArea, currentType);
-            if (!playersInArea.contains(uuid)) {
+        if (insideArea != null) {
+            showAreaParticles(session, insideArea);
+            if (!session.inArea) {
                 p.spigot().sendMessage(net.md_5.bungee.api.ChatMessageType.ACTION_BAR,
-                    new net.md_5.bungee.api.chat.TextComponent(ChatColor.YELLOW + "Entered: " + ChatColor.AQUA + insideArea.name));
-                playersInArea.add(uuid);
+                    new net.md_5.bungee.api.chat.TextComponent(ChatColor.YELLOW + "Entered: " + ChatColor.AQUA + areaName(insideArea)));
+                session.inArea = true;
             }
         } else {
-            if (playersInArea.contains(uuid)) {
+            if (session.inArea) {
                 p.spigot().sendMessage(net.md_5.bungee.api.ChatMessageType.ACTION_BAR,
                     new net.md_5.bungee.api.chat.TextComponent(ChatColor.RED + "Exited your build area"));
-                playersInArea.remove(uuid);
+                session.inArea = false;
             }
         }
     }
 
     // Helper: Is location in any build area?
     private boolean isInAnyBuildArea(Location loc) {
-        for (List<Area> areas : buildAreas.values()) {
-            for (Area area : areas) {
-                if (area.contains(loc)) return true;
-            }
-        }
-        return false;
+        return !areasAt(loc).isEmpty();
+    }
+
+    private boolean isInAnyBuildArea(String world, int x, int y, int z) {
+        AreaTree tree = areaTree(world);
+        if (tree == null) return false;
+        areaQuery.clear();
+        tree.at(x, y, z, areaQuery);
+        return !areaQuery.isEmpty();
+    }
+
+    // Helper: Tree for a world, rebuilding all trees first if areas changed since the last query
+    private AreaTree areaTree(String world) {
+        if (areaTreesStale) {
+            List<Area> all = new ArrayList<>();
+            for (List<Area> list : buildAreas.values()) all.addAll(list);
+            areaTrees = AreaTree.build(all);
+            areaTreesStale = false;
+        }
+        return areaTrees.get(world);
+    }
+
+    // Helper: Every area containing the location. Returns a shared scratch list; copy it to keep it.
+    private List<Area> areasAt(Location loc) {
+        areaQuery.clear();
+        World w = loc.getWorld();
+        AreaTree tree = w == null ? null : areaTree(w.getName());
+        if (tree != null) tree.at(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ(), areaQuery);
+        return areaQuery;
+    }
+
+    // Helper: The area that governs a location (highest priority where claims overlap), or null
+    private Area areaAt(Location loc) {
+        List<Area> here = areasAt(loc);
+        return here.isEmpty() ? null : AreaTree.winner(here);
+    }
+
+    // Helper: First area (other than 'self') whose bounds intersect the box, or null.
+    // New or reshaped claims must pass this check.
+    private Area findOverlap(String world, int minX, int minZ, int maxX, int maxZ, Area self) {
+        AreaTree tree = areaTree(world);
+        if (tree == null) return null;
+        List<Area> hits = new ArrayList<>();
+        tree.intersecting(minX, minZ, maxX, maxZ, hits);
+        for (Area a : hits) {
+            if (a != self) return a;
+        }
+        return null;
     }
 
     // Helper: Get all areas for a player
@@ -280,14 +765,83 @@ public class OreRegenPlugin extends JavaPlugin implements Listener {
         return areas.isEmpty() ? null : areas.get(0);
     }
 
+    // Helper: Display name of an area, from its owner's details if loaded, else the resident name index
+    private String areaName(Area area) {
+        OwnerDetails d = details.get(area.owner);
+        if (d != null) return d.name(area.id);
+        String name = areaNameIndex.get(area.id);
+        return name != null ? name : "Area #" + area.id;
+    }
+
+    // Fill the name index off the main thread; names set in the meantime are newer and kept
+    private void loadAreaNames() {
+        io.submitOrRetry(IoExecutor.Lane.ORDERED, "area-names", () -> {
+            Map<Integer, String> names;
+            try {
+                names = storage.loadAreaNames();
+            } catch (IOException e) {
+                getLogger().log(Level.WARNING, "[ResourceRegen] Could not load area names; unloaded owners' areas show their id", e);
+                return;
+            }
+            Bukkit.getScheduler().runTask(this, () -> {
+                names.forEach(areaNameIndex::putIfAbsent);
+                areaIndex.markChanged();
+            });
+        });
+    }
+
+    private void setAreaName(OwnerDetails owner, int areaId, String name) {
+        owner.setName(areaId, name);
+        details.markDirty(owner);
+        areaNameIndex.put(areaId, name);
+    }
+
+    // Helper: Find any area by id
+    private Area findArea(int id) {
+        for (List<Area> list : buildAreas.values()) {
+            for (Area a : list) {
+                if (a.id == id) return a;
+            }
+        }
+        return null;
+    }
+
+    // Helper: Find one of a player's areas by id
+    private Area findPlayerArea(UUID uuid, int id) {
+        for (Area a : getPlayerAreas(uuid)) {
+            if (a.id == id) return a;
+        }
+        return null;
+    }
+
+    // Helper: Run an action against an owner's details, loading them first if needed
+    private void withDetails(UUID owner, Consumer<OwnerDetails> action) {
+        OwnerDetails d = details.request(owner, () -> action.accept(details.get(owner)));
+        if (d != null) action.accept(d);
+    }
+
+    // Helper: Drop a deleted area's name/metadata from its owner's details
+    private void forgetAreaDetails(Area area) {
+        withDetails(area.owner, owner -> {
+            areaNameIndex.remove(area.id);
+            if (owner.areas.remove(area.id) != null) details.markDirty(owner);
+        });
+    }
+
+    // Helper: Invalidate sorted views after any area is added, removed, renamed or moved
+    private void markAreasChanged(Area area) {
+        if (replication != null) replication.areaChanged(area.id);
+        areasDirty = true;
+        areaTreesStale = true;
+        areaIndex.markChanged();
+        queryIndex.invalidate();
+    }
+
     // Helper: Is player within N blocks of area boundary?
     private boolean isNearAreaBoundary(Location loc, Area area, int distance) {
-        int minX = Math.min(area.corner1.getBlockX(), area.corner2.getBlockX());
-        int maxX = Math.max(area.corner1.getBlockX(), area.corner2.getBlockX());
-        int minY = -63;
-        int maxY = 320;
-        int minZ = Math.min(area.corner1.getBlockZ(), area.corner2.getBlockZ());
-        int maxZ = Math.max(area.corner1.getBlockZ(), area.corner2.getBlockZ());
+        int minX = area.minX, maxX = area.maxX;
+        int minY = Area.MIN_Y, maxY = Area.MAX_Y;
+        int minZ = area.minZ, maxZ = area.maxZ;
         int x = loc.getBlockX(), y = loc.getBlockY(), z = loc.getBlockZ();
         boolean inside = x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
         if (!inside) return false;
@@ -297,18 +851,16 @@ public class OreRegenPlugin extends JavaPlugin implements Listener {
     }
 
     // Rebuilt: Show area outline with particles on all 6 faces, from bedrock to build limit
-    // Remove old showAreaParticles method and replace with new one using SELECTABLE_PARTICLES
-    // New method: showAreaParticles(Player p, Area area, Particle particle)
-    private void showAreaParticles(Player p, Area area, Particle particle) {
-        int density = particleDensity.getOrDefault(p.getUniqueId(), 2); // Default medium
+    // Particle type and density come from the viewer's session (their own details)
+    private void showAreaParticles(PlayerSession session, Area area) {
+        Player p = session.player;
+        Particle particle = SELECTABLE_PARTICLES.get(session.particleIndex());
+        int density = session.particleDensity();
         if (density == 0) return; // Off
         int step = (density == 1) ? 4 : (density == 2) ? 2 : 1;
-        int minX = Math.min(area.corner1.getBlockX(), area.corner2.getBlockX());
-        int maxX = Math.max(area.corner1.getBlockX(), area.corner2.getBlockX());
-        int minY = -63;
-        int maxY = 320;
-        int minZ = Math.min(area.corner1.getBlockZ(), area.corner2.getBlockZ());
-        int maxZ = Math.max(area.corner1.getBlockZ(), area.corner2.getBlockZ());
+        int minX = area.minX, maxX = area.maxX;
+        int minY = Area.MIN_Y, maxY = Area.MAX_Y;
+        int minZ = area.minZ, maxZ = area.maxZ;
         World w = p.getWorld();
         Object particleData = null;
         if (particle == Particle.REDSTONE) {
@@ -334,444 +886,733 @@ public class OreRegenPlugin extends JavaPlugin implements Listener {
         }
     }
 
-    // Periodically check for ore regeneration
+    // Periodically check for ore regeneration; each record carries its own due time.
+    // Records in unloaded chunks are left in storage and picked up when the chunk loads.
     private void startOreRegenTask() {
         Bukkit.getScheduler().runTaskTimer(this, () -> {
             long now = System.currentTimeMillis();
-            Iterator<OreRecord> it = brokenOres.iterator();
-            int processed = 0;
-            while (it.hasNext() && processed < regenBatchSize) {
-                OreRecord rec = it.next();
-                if (now - rec.breakTime >= 24 * 60 * 60 * 1000L) {
-                    Location loc = rec.getLocation();
-                    if (!isInAnyBuildArea(loc)) {
-                        Block block = loc.getBlock();
-                        if (block.getType() == Material.AIR) {
-                            block.setType(rec.type);
-                        }
-                    }
-                    it.remove();
+            if (!fetchingDue && now + DUE_WINDOW_MS / 2 > loadedUntil) fetchDueBlocks(now + DUE_WINDOW_MS);
+            if (!blocksReady) return;
+            Settings current = settings;
+            int batchSize = current.regenBatchSize;
+            int window = current.hotspotPriority == MiningHeatmap.Priority.NONE ? batchSize : batchSize * HOTSPOT_LOOKAHEAD;
+            while (dueScratch.size() < window) {
+                OreRecord rec = brokenOres.peek();
+                if (rec == null || rec.regenAt > now) break;
+                dueScratch.add(dequeue());
+            }
+            if (dueScratch.size() > batchSize) {
+                // More due than one batch: restore the most (or least) mined chunks first, the rest wait a tick.
+                // Records overdue by HOTSPOT_MAX_WAIT_MS go first whatever their heat, so a steady stream of
+                // hot entries cannot hold cold ones back forever (they stay at the head of the queue).
+                int sign = current.hotspotPriority == MiningHeatmap.Priority.FIRST ? -1 : 1;
+                long starved = now - HOTSPOT_MAX_WAIT_MS;
+                dueScratch.sort(Comparator.<OreRecord>comparingInt(r -> r.regenAt <= starved ? 0 : 1)
+                    .thenComparingInt(r -> sign * heatmap.heat(r.world, r.x >> 4, r.z >> 4)));
+                for (OreRecord rec : dueScratch.subList(batchSize, dueScratch.size())) enqueue(rec);
+                dueScratch.subList(batchSize, dueScratch.size()).clear();
+            }
+            for (OreRecord rec : dueScratch) {
+                forgetVein(rec);
+                // A vein is one queue entry; its blocks join the batch together
+                Map<Long, List<OreRecord>> chunks = regenBatch.computeIfAbsent(rec.world, k -> new HashMap<>());
+                for (OreRecord m : rec.members()) {
+                    chunks.computeIfAbsent(chunkKey(m.x >> 4, m.z >> 4), k -> new ArrayList<>()).add(m);
                 }
-                processed++;
             }
+            dueScratch.clear();
+            if (!regenBatch.isEmpty()) applyRegenBatch();
         }, 20, 1);
     }
 
+    // Restore this tick's batch one chunk at a time; chunks that are not loaded wait for their load
+    private void applyRegenBatch() {
+        for (Map.Entry<String, Map<Long, List<OreRecord>>> byWorld : regenBatch.entrySet()) {
+            World world = Bukkit.getWorld(byWorld.getKey());
+            if (world == null) continue;
+            for (Map.Entry<Long, List<OreRecord>> e : byWorld.getValue().entrySet()) {
+                long key = e.getKey();
+                int cx = (int) (key >> 32), cz = (int) key;
+                if (!world.isChunkLoaded(cx, cz)) {
+                    deferredChunks.computeIfAbsent(world.getName(), k -> new HashSet<>()).add(key);
+                    continue;
+                }
+                restoreChunk(world.getChunkAt(cx, cz), e.getValue());
+            }
+        }
+        regenBatch.clear();
+    }
+
+    // Vein mode: attach a fresh break to a queued vein of the same material that touches it
+    // (including diagonally). The record takes the vein's due time, so the vein stays one queue
+    // entry and is stored with a shared regen_at that lets groupVeins rebuild it after a restart.
+    // Only veins due within the window (VEIN_JOIN_WINDOW_MS for breaks) of the record's own due
+    // time are joined, so mining next to an old vein cannot make a block come back early.
+    // Returns false if the record starts a vein of its own and needs its own queue entry.
+    private boolean joinVein(OreRecord rec, long window) {
+        Map<Long, OreRecord> open = openVeins.computeIfAbsent(rec.world, k -> new HashMap<>());
+        OreRecord head = null;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    OreRecord h = open.get(blockKey(rec.x + dx, rec.y + dy, rec.z + dz));
+                    if (h == null || h.type != rec.type || (h.vein != null && h.vein.size() >= settings.maxVeinSize)) continue;
+                    long shift = Math.abs(rec.regenAt - h.regenAt);
+                    if (shift > window) continue;
+                    // Join the closest in due time when veins meet
+                    if (head == null || shift < Math.abs(rec.regenAt - head.regenAt)) head = h;
+                }
+            }
+        }
+        if (head == null) {
+            open.put(blockKey(rec.x, rec.y, rec.z), rec);
+            return false;
+        }
+        if (head.vein == null) {
+            head.vein = new ArrayList<>();
+            head.vein.add(head);
+        }
+        head.vein.add(rec);
+        queuedBlocks++;
+        rec.regenAt = head.regenAt;
+        open.put(blockKey(rec.x, rec.y, rec.z), head);
+        return true;
+    }
+
+    // Once a head leaves the queue its blocks can no longer be joined
+    private void forgetVein(OreRecord head) {
+        Map<Long, OreRecord> open = openVeins.get(head.world);
+        if (open == null) return;
+        for (OreRecord m : head.members()) open.remove(blockKey(m.x, m.y, m.z), head);
+    }
+
+    // Storage thread: rebuild veins from stored records. Vein members share world, material and
+    // due time, and a page never splits a due time, so grouping on those restores them.
+    private static List<OreRecord> groupVeins(List<OreRecord> records, int maxSize) {
+        Map<String, OreRecord> heads = new HashMap<>();
+        List<OreRecord> entries = new ArrayList<>();
+        for (OreRecord rec : records) {
+            String key = rec.world + '|' + rec.type + '|' + rec.regenAt;
+            OreRecord head = heads.get(key);
+            if (head == null || (head.vein != null && head.vein.size() >= maxSize)) {
+                heads.put(key, rec);
+                entries.add(rec);
+                continue;
+            }
+            if (head.vein == null) {
+                head.vein = new ArrayList<>();
+                head.vein.add(head);
+            }
+            head.vein.add(rec);
+        }
+        return entries;
+    }
+
+    private static long blockKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    // Pull older records due before 'until' from storage into the queue
+    private void fetchDueBlocks(long until) {
+        if (io.busy(IoExecutor.Lane.ORDERED)) return; // Tried again next tick
+        long from = loadedUntil;
+        fetchingDue = io.submit(IoExecutor.Lane.ORDERED, "fetch-due", () -> streamDueBlocks(from, until));
+    }
+
+    // Storage thread: read (from, until] a page at a time, handing each page to the main thread
+    private void streamDueBlocks(long from, long until) {
+        long reached = from;
+        while (reached < until) {
+            long pageFrom = reached;
+            List<OreRecord> page = readBlocks(() -> storage.loadBlocksDue(pageFrom, until, sessionStart, FETCH_PAGE));
+            long pageTo = until;
+            if (page != null && page.size() == FETCH_PAGE) {
+                // End the page on a due-time boundary so records sharing a timestamp are never split
+                long last = page.get(FETCH_PAGE - 1).regenAt;
+                if (page.get(0).regenAt == last) {
+                    page = readBlocks(() -> storage.loadBlocksDue(pageFrom, last, sessionStart, Integer.MAX_VALUE));
+                    pageTo = last;
+                } else {
+                    page.removeIf(r -> r.regenAt == last);
+                    pageTo = last - 1;
+                }
+            }
+            if (page == null) {
+                Bukkit.getScheduler().runTaskLater(this, () -> fetchingDue = false, 600L); // Retry in 30s
+                return;
+            }
+            Settings current = settings;
+            int fetched = page.size();
+            List<OreRecord> batch = current.veinMode ? groupVeins(page, current.maxVeinSize) : page;
+            long batchTo = pageTo;
+            Bukkit.getScheduler().runTask(this, () -> {
+                for (OreRecord rec : batch) enqueue(rec);
+                storedBacklog = Math.max(0, storedBacklog - fetched);
+                loadedUntil = batchTo;
+                if (batchTo == until) {
+                    fetchingDue = false;
+                    if (!blocksReady) {
+                        blocksReady = true;
+                        enforceMaxTrackedBlocks();
+                    }
+                }
+            });
+            reached = pageTo;
+        }
+    }
+
+    // Restore a due block (unless it is now inside a build area) and drop its record from storage
+    private boolean restore(OreRecord rec) {
+        World world = Bukkit.getWorld(rec.world);
+        if (world == null) return false; // Kept for when the world is loaded again
+        return restoreChunk(world.getChunkAt(rec.x >> 4, rec.z >> 4), List.of(rec)) > 0;
+    }
+
+    // Restore records that all lie in one loaded chunk, looking the chunk and its entities up once
+    private int restoreChunk(Chunk chunk, List<OreRecord> records) {
+        Set<Long> occupied = occupiedBlocks(chunk);
+        int placed = 0;
+        for (OreRecord rec : records) {
+            if (place(chunk.getBlock(rec.x & 15, rec.y, rec.z & 15), rec, occupied)) placed++;
+        }
+        return placed;
+    }
+
+    // Ores need no neighbour updates, so by default blocks go in without physics
+    // (regeneration.block-physics), from BlockData created once per material
+    private boolean place(Block block, OreRecord rec, Set<Long> occupied) {
+        Material current = block.getType();
+        if (current == rec.type || isInAnyBuildArea(rec.world, rec.x, rec.y, rec.z)) {
+            localRemovals.add(rec); // Already back, or claimed since
+            return false;
+        }
+        removedBlocks.add(rec); // Restored or rescheduled below
+        if (!settings.regenPolicy.canReplace(current)) {
+            retry(rec, true);
+            return false;
+        }
+        if (occupied.contains(blockKey(rec.x, rec.y, rec.z))) {
+            retry(rec, false);
+            return false;
+        }
+        block.setBlockData(blockData.computeIfAbsent(rec.type, Material::createBlockData), settings.blockPhysics);
+        return true;
+    }
+
+    // Put a blocked record off with exponential backoff instead of dropping it. A spot that was
+    // built over is given up after regeneration.retry.max-attempts; one blocked by a mob is kept.
+    // The replacement row overwrites the old one in storage, whose removal no longer matches.
+    private void retry(OreRecord rec, boolean builtOver) {
+        if (builtOver && rec.attempts >= settings.retryAttempts) return;
+        OreRecord next = rec.copy();
+        next.attempts++;
+        next.regenAt = System.currentTimeMillis() + Math.min(settings.retryMaxDelay, settings.retryDelay << Math.min(rec.attempts, 20));
+        addedBlocks.add(next);
+        // Older records due after the loaded window come back from storage with the next fetch
+        if (next.breakTime >= sessionStart || next.regenAt <= loadedUntil) {
+            enqueue(next);
+        } else {
+            storedBacklog++;
+        }
+    }
+
+    // Blocks overlapped by living entities in this chunk, so regenerated blocks never trap a mob or
+    // player. Entities are counted in the chunk they stand in, one scan per chunk batch.
+    private static Set<Long> occupiedBlocks(Chunk chunk) {
+        Set<Long> occupied = null;
+        for (Entity e : chunk.getEntities()) {
+            if (!(e instanceof LivingEntity)) continue;
+            if (occupied == null) occupied = new HashSet<>();
+            BoundingBox box = e.getBoundingBox();
+            int x1 = (int) Math.ceil(box.getMaxX()) - 1, y1 = (int) Math.ceil(box.getMaxY()) - 1, z1 = (int) Math.ceil(box.getMaxZ()) - 1;
+            for (int x = (int) Math.floor(box.getMinX()); x <= x1; x++) {
+                for (int y = (int) Math.floor(box.getMinY()); y <= y1; y++) {
+                    for (int z = (int) Math.floor(box.getMinZ()); z <= z1; z++) occupied.add(blockKey(x, y, z));
+                }
+            }
+        }
+        return occupied != null ? occupied : Set.of();
+    }
+
+    private interface BlockQuery {
+        List<OreRecord> run() throws IOException;
+    }
+
+    // Run a storage read on the storage thread; null (after logging) if it failed
+    private List<OreRecord> readBlocks(BlockQuery query) {
+        try {
+            return query.run();
+        } catch (IOException e) {
+            getLogger().log(Level.WARNING, "[ResourceRegen] Could not read tracked blocks", e);
+            return null;
+        }
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    // Chunks that were skipped by the regen task while unloaded are read back with one indexed query
+    @EventHandler
+    public void onChunkLoad(ChunkLoadEvent event) {
+        Chunk chunk = event.getChunk();
+        String world = chunk.getWorld().getName();
+        Set<Long> chunks = deferredChunks.get(world);
+        if (chunks == null || !chunks.remove(chunkKey(chunk.getX(), chunk.getZ()))) return;
+        int cx = chunk.getX(), cz = chunk.getZ();
+        long now = System.currentTimeMillis();
+        io.submitOrRetry(IoExecutor.Lane.ORDERED, "chunk-load", () -> {
+            List<OreRecord> due = readBlocks(() -> storage.loadBlocksInChunk(world, cx, cz, now));
+            if (due == null || due.isEmpty()) return;
+            Bukkit.getScheduler().runTask(this, () -> {
+                World w = Bukkit.getWorld(world);
+                if (w == null || !w.isChunkLoaded(cx, cz)) {
+                    deferredChunks.computeIfAbsent(world, k -> new HashSet<>()).add(chunkKey(cx, cz));
+                    return;
+                }
+                restoreChunk(w.getChunkAt(cx, cz), due);
+                requestSave();
+            });
+        });
+    }
+
     // Periodically show area outline for players inside or near their area
-    private void startParticleTask() {
-        Bukkit.getScheduler().runTaskTimer(this, () -> {
-            for (Player p : Bukkit.getOnlinePlayers()) {
+    private BukkitTask startParticleTask() {
+        Settings current = settings;
+        return Bukkit.getScheduler().runTaskTimer(this, () -> {
+            for (PlayerSession session : sessions.values()) {
+                Player p = session.player;
                 Area area = getFirstPlayerArea(p.getUniqueId());
                 if (area == null) continue;
-                if (showParticlesToOwnersOnly && !p.hasPermission("oregen.admin") && !area.owner.equals(p.getUniqueId())) continue;
+                if (settings.showParticlesToOwnersOnly && !p.hasPermission("oregen.admin") && !area.owner.equals(p.getUniqueId())) continue;
                 Location loc = p.getLocation();
                 if (area.contains(loc) || isNearAreaBoundary(loc, area, 5)) {
-                    int idx = playerParticleIndex.getOrDefault(p.getUniqueId(), 0);
-                    Particle particle = SELECTABLE_PARTICLES.get(idx);
-                    showAreaParticles(p, area, particle);
+                    showAreaParticles(session, area);
                 }
             }
-        }, 20, particleUpdateInterval);
+        }, 20, current.particleUpdateInterval);
     }
 
-    // Data persistence
-    private void saveData() {
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(new File(getDataFolder(), "data.dat")))) {
-            out.writeObject(new ArrayList<>(buildAreas.values()));
-            out.writeObject(new ArrayList<>(brokenOres));
+    // Data persistence: the snapshot is taken on the main thread so the write never reads live state.
+    // Parts that did not change since the last save are null/empty and left untouched in storage.
+    private record SaveSnapshot(List<Area> areas, int nextAreaId, Map<UUID, byte[]> owners,
+                                List<OreRecord> addedBlocks, List<OreRecord> removedBlocks,
+                                Replication.Delta outgoing) {}
+
+    private SaveSnapshot takeSnapshot() {
+        List<Area> areas = null;
+        if (areasDirty) {
+            areas = new ArrayList<>();
+            for (List<Area> list : buildAreas.values()) {
+                for (Area a : list) areas.add(a.copy());
+            }
+            areasDirty = false;
+        }
+        Replication.Delta outgoing = replication != null ? replication.drain(areas, addedBlocks, removedBlocks) : null;
+        List<OreRecord> removed = removedBlocks;
+        if (!localRemovals.isEmpty()) {
+            removed = new ArrayList<>(removedBlocks);
+            removed.addAll(localRemovals);
+            localRemovals = new ArrayList<>();
+        }
+        SaveSnapshot snapshot = new SaveSnapshot(areas, nextAreaId, details.drainDirty(), addedBlocks, removed, outgoing);
+        addedBlocks = new ArrayList<>();
+        removedBlocks = new ArrayList<>();
+        return snapshot;
+    }
+
+    private void writeSnapshot(SaveSnapshot snapshot) {
+        try {
+            if (snapshot.areas() != null) storage.saveAreas(snapshot.areas(), snapshot.nextAreaId());
+            storage.saveOwners(snapshot.owners());
+            storage.saveBlocks(snapshot.addedBlocks(), snapshot.removedBlocks());
         } catch (IOException e) {
             getLogger().log(Level.WARNING, "[ResourceRegen] Data save/load error", e);
         }
-    }
-    @SuppressWarnings("unchecked")
-    private void loadData() {
-        File file = new File(getDataFolder(), "data.dat");
-        if (!file.exists()) return;
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
-            buildAreas.clear();
-            List<Area> loadedAreas = (List<Area>) in.readObject();
-            for (Area area : loadedAreas) {
-                buildAreas.computeIfAbsent(area.owner, k -> new ArrayList<>()).add(area);
+        if (snapshot.outgoing() != null) {
+            try {
+                replication.publish(snapshot.outgoing());
+            } catch (IOException e) {
+                getLogger().log(Level.WARNING, "[ResourceRegen] Could not publish changes to other servers", e);
             }
-            brokenOres.clear();
-            brokenOres.addAll((List<OreRecord>) in.readObject());
-        } catch (Exception e) {
-            getLogger().log(Level.WARNING, "[ResourceRegen] Data load error", e);
         }
     }
 
+    private void saveData() {
+        writeSnapshot(takeSnapshot());
+    }
+
     // Async data save
     private void saveDataAsync() {
-        Bukkit.getScheduler().runTaskAsynchronously(this, this::saveData);
+        if (io.busy(IoExecutor.Lane.ORDERED)) {
+            requestSave(); // Storage is behind; changes stay in memory and go out with a later write
+            return;
+        }
+        SaveSnapshot snapshot = takeSnapshot();
+        io.submitOrRetry(IoExecutor.Lane.ORDERED, "save", () -> writeSnapshot(snapshot));
+    }
+
+    // Ask for pending changes to be saved soon; bursts of edits and block breaks share one write
+    private void requestSave() {
+        if (saveQueued) return;
+        saveQueued = true;
+        Bukkit.getScheduler().runTaskLater(this, () -> {
+            saveQueued = false;
+            saveDataAsync();
+        }, SAVE_COALESCE_TICKS);
+    }
+
+    // Load the compact area index. Called from onEnable before listeners are registered, so
+    // protection is in place from the first event and the index is only ever touched on the main thread.
+    // False if it could not be read; the plugin must not run without it.
+    private boolean loadAreaIndex() {
+        long start = System.nanoTime();
+        Storage.LoadedAreas loaded;
+        try {
+            loaded = storage.loadAreas();
+        } catch (IOException e) {
+            getLogger().log(Level.SEVERE, "[ResourceRegen] Could not load areas", e);
+            return false;
+        }
+        buildAreas.clear();
+        for (Area area : loaded.areas) {
+            buildAreas.computeIfAbsent(area.owner, k -> new ArrayList<>()).add(area);
+        }
+        nextAreaId = Math.max(nextAreaId, loaded.nextId);
+        ownerHeads.prefetch(new ArrayList<>(buildAreas.keySet()));
+        areaIndex.markChanged();
+        getLogger().info("[ResourceRegen] Loaded " + loaded.areas.size() + " areas in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        areasLoaded = true;
+        return true;
     }
-    // Async data load
-    private void loadDataAsync() {
-        Bukkit.getScheduler().runTaskAsynchronously(this, this::loadData);
+
+    // Storage thread, before the first due-block fetch: trim rows carried over from earlier sessions
+    // to the cap and count what is left as backlog
+    private void capStoredBlocks() {
+        int max = settings.maxTrackedBlocks;
+        io.submitOrRetry(IoExecutor.Lane.ORDERED, "cap-blocks", () -> {
+            int remaining;
+            try {
+                remaining = storage.capBlocks(max);
+            } catch (IOException e) {
+                getLogger().log(Level.WARNING, "[ResourceRegen] Could not apply max-tracked-blocks to stored blocks", e);
+                return;
+            }
+            Bukkit.getScheduler().runTask(this, () -> storedBacklog = remaining);
+        });
     }
 
-    // Unload data for offline players if enabled
+    // Release memory held for offline players. Only lazily loaded details are dropped;
+    // the area index stays resident so offline owners' areas remain protected.
+    // Per-player session state is already released on quit.
     private void unloadOfflinePlayerData() {
-        Set<UUID> online = new HashSet<>();
-        for (Player p : Bukkit.getOnlinePlayers()) online.add(p.getUniqueId());
-        buildAreas.keySet().removeIf(uuid -> !online.contains(uuid));
-        // Optionally, also clear per-player settings
-        particleDensity.keySet().removeIf(uuid -> !online.contains(uuid));
-        playerParticleIndex.keySet().removeIf(uuid -> !online.contains(uuid));
-        selection1.keySet().removeIf(uuid -> !online.contains(uuid));
-        selection2.keySet().removeIf(uuid -> !online.contains(uuid));
+        if (settings.unloadOfflineDetails) details.evictOffline();
     }
 
-    // Enforce max tracked blocks
+    // Enforce max tracked blocks (drops the records that were due first). Counts blocks, not
+    // queue entries, so vein mode does not multiply the limit.
     private void enforceMaxTrackedBlocks() {
-        while (brokenOres.size() > maxTrackedBlocks) {
-            brokenOres.remove(0);
+        if (!blocksReady) return; // Runs again once the backlog is in
+        while (queuedBlocks + storedBacklog > settings.maxTrackedBlocks) {
+            // The queue holds everything due up to loadedUntil, so its head is due before any backlog row
+            OreRecord rec = dequeue();
+            if (rec == null) break;
+            forgetVein(rec);
+            removedBlocks.addAll(rec.members());
         }
     }
+
+    private void enqueue(OreRecord rec) {
+        brokenOres.add(rec);
+        queuedBlocks += rec.members().size();
+    }
+
+    private OreRecord dequeue() {
+        OreRecord rec = brokenOres.poll();
+        if (rec != null) queuedBlocks -= rec.members().size();
+        return rec;
+    }
+    // Restore every tracked block outside build areas: what is in memory now, then the rest from storage
+    private void forceRegenAll(Player admin) {
+        int count = 0;
+        Iterator<OreRecord> it = brokenOres.iterator();
+        while (it.hasNext()) {
+            OreRecord rec = it.next();
+            for (OreRecord m : rec.members()) {
+                if (restore(m)) count++; // Drops records inside build areas without placing them
+            }
+            forgetVein(rec);
+            it.remove();
+            queuedBlocks -= rec.members().size();
+        }
+        int inMemory = count;
+        io.submitOrRetry(IoExecutor.Lane.ORDERED, "force-regen", () -> {
+            List<OreRecord> stored = readBlocks(() -> storage.loadBlocksDue(Long.MIN_VALUE, Long.MAX_VALUE, sessionStart, Integer.MAX_VALUE));
+            Bukkit.getScheduler().runTask(this, () -> {
+                int total = inMemory;
+                if (stored != null) {
+                    storedBacklog = 0; // Everything stored is restored now; retries count themselves again
+                    for (OreRecord rec : stored) {
+                        if (restore(rec)) total++;
+                    }
+                }
+                requestSave();
+                if (admin.isOnline()) {
+                    admin.sendMessage(ChatColor.GREEN + "Force regenerated " + total + " blocks outside all build areas.");
+                }
+            });
+        });
+    }
+
+    // Moving a corner to loc (other corner at otherX/otherZ) must stay in the area's world and not overlap another claim
+    private boolean canMoveCorner(Player admin, Area area, Location loc, int otherX, int otherZ) {
+        World w = loc.getWorld();
+        if (w == null || !w.getName().equals(area.world)) {
+            admin.sendMessage(ChatColor.RED + "Corners must be in the area's world (" + area.world + ").");
+            return false;
+        }
+        int x = loc.getBlockX(), z = loc.getBlockZ();
+        Area other = findOverlap(area.world, Math.min(x, otherX), Math.min(z, otherZ), Math.max(x, otherX), Math.max(z, otherZ), area);
+        if (other != null) {
+            admin.sendMessage(ChatColor.RED + "That would overlap " + ChatColor.AQUA + areaName(other)
+                + ChatColor.RED + " owned by " + ownerHeads.name(other.owner) + ".");
+            return false;
+        }
+        return true;
+    }
+
     // Enforce max areas per player
     private boolean canAddArea(UUID uuid) {
         int count = 0;
         for (Area area : buildAreas.getOrDefault(uuid, Collections.emptyList())) {
             if (area.owner.equals(uuid)) count++;
         }
-        return count < maxAreasPerPlayer;
+        return count < settings.maxAreasPerPlayer;
     }
 
     // GUI for build area management with density/type/delete options, now supports multiple areas per player
     private void openBuildAreaGUI(Player player) {
-        UUID uuid = player.getUniqueId();
-        List<Area> areas = getPlayerAreas(uuid);
-        int max = maxAreasPerPlayer;
-        int size = 54; // 6 rows for more space
-        Inventory gui = Bukkit.createInventory(null, size, ChatColor.GOLD + "Your Build Areas");
+        MenuHolder menu = MenuHolder.create(MenuHolder.Type.BUILD_AREAS, null, 54, ChatColor.GOLD + "Your Build Areas");
+        renderBuildAreaGUI(player, menu);
+        player.openInventory(menu.getInventory());
+    }
 
+    private void renderBuildAreaGUI(Player player, MenuHolder menu) {
+        List<Area> areas = getPlayerAreas(player.getUniqueId());
+        int size = menu.size();
         // Decorative border
-        ItemStack goldPane = new ItemStack(Material.YELLOW_STAINED_GLASS_PANE);
-        ItemMeta goldMeta = goldPane.getItemMeta();
-        if (goldMeta != null) {
-            goldMeta.setDisplayName(ChatColor.GOLD + "★");
-            goldPane.setItemMeta(goldMeta);
-        }
-        ItemStack purplePane = new ItemStack(Material.PURPLE_STAINED_GLASS_PANE);
-        ItemMeta purpleMeta = purplePane.getItemMeta();
-        if (purpleMeta != null) {
-            purpleMeta.setDisplayName(ChatColor.LIGHT_PURPLE + "✦");
-            purplePane.setItemMeta(purpleMeta);
-        }
         for (int i = 0; i < size; i++) {
-            if (i < 9) gui.setItem(i, goldPane);
-            else if (i >= size - 9) gui.setItem(i, purplePane);
-            else if (i % 9 == 0) gui.setItem(i, goldPane);
-            else if (i % 9 == 8) gui.setItem(i, purplePane);
+            if (i < 9) menu.set(i, guiItems.goldPane);
+            else if (i >= size - 9) menu.set(i, guiItems.purplePane);
+            else if (i % 9 == 0) menu.set(i, guiItems.goldPane);
+            else if (i % 9 == 8) menu.set(i, guiItems.purplePane);
         }
-
         // List all areas (slots 10-43)
         int slot = 10;
         for (int i = 0; i < areas.size() && slot < 44; i++, slot++) {
             Area area = areas.get(i);
-            ItemStack areaItem = new ItemStack(Material.GRASS_BLOCK);
-            ItemMeta meta = areaItem.getItemMeta();
-            if (meta != null) {
-                meta.setDisplayName(ChatColor.AQUA + area.name);
-                meta.setLore(Arrays.asList(
-                    ChatColor.GRAY + "Owner: " + Bukkit.getOfflinePlayer(area.owner).getName(),
-                    ChatColor.GRAY + "Corners: " + area.corner1.getBlockX() + "," + area.corner1.getBlockZ() + " to " + area.corner2.getBlockX() + "," + area.corner2.getBlockZ(),
-                    ChatColor.YELLOW + "Click to manage this area"
-                ));
-                meta.addEnchant(Enchantment.LUCK, 1, true);
-                meta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ENCHANTS);
-                areaItem.setItemMeta(meta);
-            }
-            gui.setItem(slot, areaItem);
+            menu.set(slot, GuiItems.glowing(Material.GRASS_BLOCK, ChatColor.AQUA + areaName(area),
+                ChatColor.GRAY + "Owner: " + ownerHeads.name(area.owner),
+                ChatColor.GRAY + "Corners: " + area.x1 + "," + area.z1 + " to " + area.x2 + "," + area.z2,
+                ChatColor.YELLOW + "Click to manage this area"));
         }
-
         // Add button to create new area if under limit
-        if (areas.size() < max) {
-            ItemStack create = new ItemStack(Material.EMERALD_BLOCK);
-            ItemMeta cMeta = create.getItemMeta();
-            if (cMeta != null) {
-                cMeta.setDisplayName(ChatColor.GREEN + "Create New Area");
-                cMeta.setLore(Arrays.asList(ChatColor.YELLOW + "Click to start selecting a new area!"));
-                cMeta.addEnchant(Enchantment.LUCK, 1, true);
-                cMeta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ENCHANTS);
-                create.setItemMeta(cMeta);
-            }
-            gui.setItem(49, create); // Center bottom
-        }
-
-        player.openInventory(gui);
+        menu.set(49, areas.size() < settings.maxAreasPerPlayer ? guiItems.createArea : guiItems.purplePane); // Center bottom
     }
 
-    // Admin GUI: List all build areas
+    // Admin GUI: Paginated list of all build areas (only the visible page is rendered)
     private void openAdminAreaListGUI(Player admin) {
-        Inventory gui = Bukkit.createInventory(null, 54, ChatColor.DARK_RED + "All Build Areas");
-        int slot = 0;
-        for (Area area : buildAreas.values().stream().flatMap(List::stream).toList()) {
-            ItemStack item = new ItemStack(Material.PLAYER_HEAD);
+        MenuHolder menu = MenuHolder.create(MenuHolder.Type.ADMIN_AREA_LIST, null, 54, ChatColor.DARK_RED + "All Build Areas");
+        renderAdminAreaListGUI(admin, menu);
+        admin.openInventory(menu.getInventory());
+    }
+
+    private void renderAdminAreaListGUI(Player admin, MenuHolder menu) {
+        AreaBrowser browser = adminBrowsers.computeIfAbsent(admin.getUniqueId(), k -> new AreaBrowser());
+        browser.view(areaIndex, ownerHeads, admin.getLocation());
+        List<Area> page = browser.pageItems();
+        Runnable refresh = () -> refreshIfOpen(admin, menu);
+        for (int slot = 0; slot < AreaBrowser.PAGE_SIZE; slot++) {
+            if (slot >= page.size()) {
+                menu.set(slot, null);
+                continue;
+            }
+            Area area = page.get(slot);
+            details.request(area.owner, refresh); // Names of offline owners' areas load on demand
+            // Cached head template; the owner profile was resolved off the main thread
+            ItemStack item = ownerHeads.head(area.owner).clone();
             ItemMeta meta = item.getItemMeta();
             if (meta != null) {
-                meta.setDisplayName(ChatColor.YELLOW + area.name);
+                meta.setDisplayName(ChatColor.YELLOW + areaName(area));
                 List<String> lore = new ArrayList<>();
-                lore.add(ChatColor.GRAY + "Owner: " + Bukkit.getOfflinePlayer(area.owner).getName());
-                lore.add(ChatColor.GRAY + "Corners: " + area.corner1.getBlockX() + "," + area.corner1.getBlockY() + "," + area.corner1.getBlockZ() + " to " + area.corner2.getBlockX() + "," + area.corner2.getBlockY() + "," + area.corner2.getBlockZ());
+                lore.add(ChatColor.GRAY + "Owner: " + ownerHeads.name(area.owner));
+                lore.add(ChatColor.GRAY + "World: " + area.world + ChatColor.DARK_GRAY + " (" + area.footprint() + " blocks)");
+                lore.add(ChatColor.GRAY + "Corners: " + area.x1 + "," + area.y1 + "," + area.z1 + " to " + area.x2 + "," + area.y2 + "," + area.z2);
                 meta.setLore(lore);
-                if (meta instanceof org.bukkit.inventory.meta.SkullMeta skullMeta) {
-                    skullMeta.setOwningPlayer(Bukkit.getOfflinePlayer(area.owner));
-                    item.setItemMeta(skullMeta);
-                } else {
-                    item.setItemMeta(meta);
-                }
+                item.setItemMeta(meta);
             }
-            gui.setItem(slot++, item);
-            if (slot >= 45) break; // Reserve last row for admin controls
-        }
-        // Force Regen All button
-        ItemStack forceRegenAll = new ItemStack(Material.DIAMOND_PICKAXE);
-        ItemMeta frMeta = forceRegenAll.getItemMeta();
-        if (frMeta != null) {
-            frMeta.setDisplayName(ChatColor.RED + "Force Regen All Resources");
-            frMeta.setLore(Collections.singletonList(ChatColor.GRAY + "Restore all tracked blocks outside build areas"));
-            forceRegenAll.setItemMeta(frMeta);
-        }
-        gui.setItem(45, forceRegenAll);
-        // Config button
-        ItemStack config = new ItemStack(Material.COMPARATOR);
-        ItemMeta configMeta = config.getItemMeta();
-        if (configMeta != null) {
-            configMeta.setDisplayName(ChatColor.BLUE + "Plugin Config");
-            configMeta.setLore(Collections.singletonList(ChatColor.GRAY + "Edit plugin settings"));
-            config.setItemMeta(configMeta);
-        }
-        gui.setItem(53, config);
-        admin.openInventory(gui);
+            menu.set(slot, item);
+        }
+        menu.set(45, guiItems.forceRegenAll);
+        // Previous / next page
+        menu.set(46, browser.page > 0 ? guiItems.previousPage : null);
+        menu.set(50, browser.page < browser.pageCount() - 1 ? guiItems.nextPage : null);
+        menu.set(47, GuiItems.item(Material.HOPPER, ChatColor.AQUA + "Sort: " + browser.sort.label,
+            ChatColor.GRAY + "Click to cycle owner, name, size, world, distance"));
+        menu.set(48, GuiItems.item(Material.COMPASS, ChatColor.AQUA + "Search" + (browser.query.isEmpty() ? "" : ": " + ChatColor.WHITE + browser.query),
+            ChatColor.GRAY + "Left click to search by area or owner name", ChatColor.GRAY + "Right click to clear"));
+        menu.set(49, GuiItems.item(Material.PAPER, ChatColor.GOLD + "Page " + (browser.page + 1) + "/" + browser.pageCount(),
+            ChatColor.GRAY + "" + browser.resultCount() + " areas"));
+        menu.set(53, guiItems.listConfig);
     }
 
-    // Handle admin GUI clicks
+    // Re-render a menu only if the player is still looking at it (used by async load callbacks)
+    private void refreshIfOpen(Player viewer, MenuHolder menu) {
+        if (viewer.isOnline() && viewer.getOpenInventory().getTopInventory().getHolder() == menu) {
+            refreshMenu(viewer, menu);
+        }
+    }
+
+    // Re-render an open menu in place after a click changed its state
+    private void refreshMenu(Player viewer, MenuHolder menu) {
+        switch (menu.type) {
+            case BUILD_AREAS -> renderBuildAreaGUI(viewer, menu);
+            case PLAYER_AREA_EDIT -> renderPlayerAreaEditGUI(menu);
+            case ADMIN_AREA_LIST -> renderAdminAreaListGUI(viewer, menu);
+            case ADMIN_AREA_EDIT -> renderAdminAreaEditGUI(viewer, menu);
+            case CONFIG -> renderAdminConfigGUI(menu);
+        }
+    }
+
+    // Single entry point for clicks in any plugin GUI. Foreign inventories are rejected by the
+    // holder check alone; ours are routed by menu type with the bound area taken from the holder.
     @EventHandler
-    public void onAdminAreaListClick(InventoryClickEvent event) {
-        if (!(event.getWhoClicked() instanceof Player admin)) return;
-        if (!event.getView().getTitle().equals(ChatColor.DARK_RED + "All Build Areas")) return;
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (!(event.getInventory().getHolder() instanceof MenuHolder menu)) return;
         event.setCancelled(true);
+        if (!(event.getWhoClicked() instanceof Player player)) return;
         int slot = event.getRawSlot();
+        if (slot < 0 || slot >= event.getInventory().getSize()) return; // Click in the player's own inventory
+        switch (menu.type) {
+            case BUILD_AREAS -> handleBuildAreaGUIClick(player, slot);
+            case PLAYER_AREA_EDIT -> handlePlayerAreaEditGUIClick(player, menu.area, slot);
+            case ADMIN_AREA_LIST -> handleAdminAreaListClick(player, menu, slot, event.isRightClick());
+            case ADMIN_AREA_EDIT -> handleAdminAreaEditClick(player, menu, slot);
+            case CONFIG -> handleConfigGUIClick(player, menu, slot);
+        }
+    }
+
+    // Dragging across slots would otherwise place items into our menus
+    @EventHandler
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getInventory().getHolder() instanceof MenuHolder) event.setCancelled(true);
+    }
+
+    // Handle admin GUI clicks
+    private void handleAdminAreaListClick(Player admin, MenuHolder menu, int slot, boolean rightClick) {
+        AreaBrowser browser = adminBrowsers.get(admin.getUniqueId());
+        if (browser == null) return;
         if (slot == 45) { // Force Regen All
-            int count = 0;
-            Iterator<OreRecord> it = brokenOres.iterator();
-            while (it.hasNext()) {
-                OreRecord rec = it.next();
-                Location loc = rec.getLocation();
-                if (!isInAnyBuildArea(loc)) {
-                    Block block = loc.getBlock();
-                    if (block.getType() == Material.AIR) {
-                        block.setType(rec.type);
-                        count++;
-                    }
-                    it.remove();
-                }
+            forceRegenAll(admin);
+            return;
+        }
+        if (slot == 46 || slot == 50) { // Previous / next page
+            browser.page += slot == 46 ? -1 : 1;
+            refreshMenu(admin, menu);
+            return;
+        }
+        if (slot == 47) { // Cycle sort
+            browser.sort = browser.sort.next();
+            browser.page = 0;
+            browser.invalidate();
+            refreshMenu(admin, menu);
+            return;
+        }
+        if (slot == 48) { // Search
+            if (rightClick) {
+                browser.query = "";
+                browser.page = 0;
+                browser.invalidate();
+                refreshMenu(admin, menu);
+            } else {
+                admin.closeInventory();
+                admin.sendMessage(ChatColor.YELLOW + "Type an area or owner name to search for in chat:");
+                adminSearchMode.add(admin.getUniqueId());
             }
-            admin.sendMessage(ChatColor.GREEN + "Force regenerated " + count + " blocks outside all build areas.");
             return;
         }
         if (slot == 53) { // Config
             openAdminConfigGUI(admin);
             return;
         }
-        // Build a flat list of all areas for display
-        List<Area> allAreas = new ArrayList<>();
-        for (List<Area> areas : buildAreas.values()) {
-            allAreas.addAll(areas);
-        }
-        if (slot < 0 || slot >= allAreas.size()) return;
-        Area area = allAreas.get(slot);
+        // Slots map to the page that was rendered, not to a freshly flattened list
+        Area area = browser.areaAt(slot);
+        if (area == null) return;
         openAdminAreaEditGUI(admin, area);
     }
 
     // Admin area edit GUI
     private void openAdminAreaEditGUI(Player admin, Area area) {
-        Inventory gui = Bukkit.createInventory(null, 27, ChatColor.RED + "Edit Area: " + area.name);
-        // Border with black stained glass
-        ItemStack border = new ItemStack(Material.BLACK_STAINED_GLASS_PANE);
-        ItemMeta borderMeta = border.getItemMeta();
-        if (borderMeta != null) {
-            borderMeta.setDisplayName(" ");
-            border.setItemMeta(borderMeta);
-        }
-        for (int i = 0; i < 27; i++) {
-            if (i < 9 || i > 17 || i % 9 == 0 || i % 9 == 8) gui.setItem(i, border);
-        }
-// --- Create all buttons and panes first ---
-        // Extravagant border: diamond and blue glass panes
-        ItemStack diamondPane = new ItemStack(Material.LIGHT_BLUE_STAINED_GLASS_PANE);
-        ItemMeta diamondMeta = diamondPane.getItemMeta();
-        if (diamondMeta != null) {
-            diamondMeta.setDisplayName(ChatColor.AQUA + "✦");
-            diamondPane.setItemMeta(diamondMeta);
-        }
-        ItemStack bluePane = new ItemStack(Material.BLUE_STAINED_GLASS_PANE);
-        ItemMeta blueMeta = bluePane.getItemMeta();
-        if (blueMeta != null) {
-            blueMeta.setDisplayName(ChatColor.BLUE + "★");
-            bluePane.setItemMeta(blueMeta);
-        }
-        // Set Corner 1
-        ItemStack setC1 = new ItemStack(Material.NETHER_STAR);
-        ItemMeta c1Meta = setC1.getItemMeta();
-        if (c1Meta != null) {
-            c1Meta.setDisplayName(ChatColor.GREEN + "Set Corner 1 (to your location)");
-            List<String> lore1 = new ArrayList<>();
-            lore1.add(ChatColor.GRAY + "Current: " + area.corner1.getBlockX() + ", " + area.corner1.getBlockY() + ", " + area.corner1.getBlockZ());
-            lore1.add(ChatColor.YELLOW + "Click to set to your location");
-            c1Meta.setLore(lore1);
-            c1Meta.addEnchant(Enchantment.LUCK, 1, true);
-            c1Meta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ENCHANTS);
-            setC1.setItemMeta(c1Meta);
-        }
-        // Set Corner 2
-        ItemStack setC2 = new ItemStack(Material.NETHER_STAR);
-        ItemMeta c2Meta = setC2.getItemMeta();
-        if (c2Meta != null) {
-            c2Meta.setDisplayName(ChatColor.GREEN + "Set Corner 2 (to your location)");
-            List<String> lore2 = new ArrayList<>();
-            lore2.add(ChatColor.GRAY + "Current: " + area.corner2.getBlockX() + ", " + area.corner2.getBlockY() + ", " + area.corner2.getBlockZ());
-            lore2.add(ChatColor.YELLOW + "Click to set to your location");
-            c2Meta.setLore(lore2);
-            c2Meta.addEnchant(Enchantment.LUCK, 1, true);
-            c2Meta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ENCHANTS);
-            setC2.setItemMeta(c2Meta);
-        }
-        // Rename
-        ItemStack rename = new ItemStack(Material.NAME_TAG);
-        ItemMeta renameMeta = rename.getItemMeta();
-        if (renameMeta != null) {
-            renameMeta.setDisplayName(ChatColor.YELLOW + "Rename Area");
-            renameMeta.setLore(Arrays.asList(ChatColor.AQUA + "Give this area a legendary name!"));
-            renameMeta.addEnchant(Enchantment.LUCK, 1, true);
-            renameMeta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ENCHANTS);
-            rename.setItemMeta(renameMeta);
-        }
-        // Particle type
-        ItemStack ptType = new ItemStack(Material.FIREWORK_STAR);
-        ItemMeta ptTypeMeta = ptType.getItemMeta();
-        if (ptTypeMeta != null) {
-            ptTypeMeta.setDisplayName(ChatColor.AQUA + "Cycle Particle Type");
-            ptTypeMeta.setLore(Arrays.asList(ChatColor.LIGHT_PURPLE + "Try all the magical effects!"));
-            ptTypeMeta.addEnchant(Enchantment.LUCK, 1, true);
-            ptTypeMeta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ENCHANTS);
-            ptType.setItemMeta(ptTypeMeta);
-        }
-        // Particle density
-        ItemStack ptDensity = new ItemStack(Material.GUNPOWDER);
-        ItemMeta ptDenMeta = ptDensity.getItemMeta();
-        if (ptDenMeta != null) {
-            ptDenMeta.setDisplayName(ChatColor.AQUA + "Cycle Particle Density");
-            ptDenMeta.setLore(Arrays.asList(ChatColor.GRAY + "Adjust the sparkle power!"));
-            ptDenMeta.addEnchant(Enchantment.LUCK, 1, true);
-            ptDenMeta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ENCHANTS);
-            ptDensity.setItemMeta(ptDenMeta);
-        }
-        // Teleport to corners
-        ItemStack tpC1 = new ItemStack(Material.ENDER_PEARL);
-        ItemMeta tpC1Meta = tpC1.getItemMeta();
-        if (tpC1Meta != null) {
-            tpC1Meta.setDisplayName(ChatColor.LIGHT_PURPLE + "Teleport to Corner 1");
-            tpC1Meta.setLore(Arrays.asList(ChatColor.GRAY + "Zoom to the first corner!"));
-            tpC1Meta.addEnchant(Enchantment.LUCK, 1, true);
-            tpC1Meta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ENCHANTS);
-            tpC1.setItemMeta(tpC1Meta);
-        }
-        ItemStack tpC2 = new ItemStack(Material.ENDER_PEARL);
-        ItemMeta tpC2Meta = tpC2.getItemMeta();
-        if (tpC2Meta != null) {
-            tpC2Meta.setDisplayName(ChatColor.LIGHT_PURPLE + "Teleport to Corner 2");
-            tpC2Meta.setLore(Arrays.asList(ChatColor.GRAY + "Zoom to the second corner!"));
-            tpC2Meta.addEnchant(Enchantment.LUCK, 1, true);
-            tpC2Meta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ENCHANTS);
-            tpC2.setItemMeta(tpC2Meta);
-        }
-        // Transfer ownership
-        ItemStack transfer = new ItemStack(Material.PLAYER_HEAD);
-        ItemMeta transferMeta = transfer.getItemMeta();
-        if (transferMeta != null) {
-            transferMeta.setDisplayName(ChatColor.BLUE + "Transfer Ownership");
-            transferMeta.setLore(Arrays.asList(ChatColor.GRAY + "Give this area to another hero!"));
-            transferMeta.addEnchant(Enchantment.LUCK, 1, true);
-            transferMeta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ENCHANTS);
-            transfer.setItemMeta(transferMeta);
-        }
-        // Delete
-        ItemStack delete = new ItemStack(Material.BARRIER);
-        ItemMeta delMeta = delete.getItemMeta();
-        if (delMeta != null) {
-            delMeta.setDisplayName(ChatColor.RED + "Delete This Area");
-            delMeta.setLore(Arrays.asList(ChatColor.DARK_RED + "Click to delete your area!", ChatColor.GRAY + "This cannot be undone."));
-            delMeta.addEnchant(Enchantment.LUCK, 1, true);
-            delMeta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ENCHANTS);
-            delete.setItemMeta(delMeta);
-        }
-        // Config button
-        ItemStack config = new ItemStack(Material.COMPARATOR);
-        ItemMeta configMeta = config.getItemMeta();
-        if (configMeta != null) {
-            configMeta.setDisplayName(ChatColor.BLUE + "Plugin Config");
-            configMeta.setLore(Arrays.asList(ChatColor.GRAY + "Advanced settings for admins!"));
-            configMeta.addEnchant(Enchantment.LUCK, 1, true);
-            configMeta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ENCHANTS);
-            config.setItemMeta(configMeta);
-        }
-        // Force Regen button
-        ItemStack forceRegen = new ItemStack(Material.DIAMOND_PICKAXE);
-        ItemMeta frMeta = forceRegen.getItemMeta();
-        if (frMeta != null) {
-            frMeta.setDisplayName(ChatColor.RED + "Force Regenerate Area");
-            frMeta.setLore(Arrays.asList(ChatColor.LIGHT_PURPLE + "Restore all resources in this area!"));
-            frMeta.addEnchant(Enchantment.LUCK, 1, true);
-            frMeta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ENCHANTS);
-            forceRegen.setItemMeta(frMeta);
-        }
-        // --- Place border and buttons for alignment ---
+        MenuHolder menu = MenuHolder.create(MenuHolder.Type.ADMIN_AREA_EDIT, area, 27, ChatColor.RED + "Edit Area: " + areaName(area));
+        renderAdminAreaEditGUI(admin, menu);
+        admin.openInventory(menu.getInventory());
+    }
+
+    private void renderAdminAreaEditGUI(Player admin, MenuHolder menu) {
+        Area area = menu.area;
+        OwnerDetails owner = details.request(area.owner, () -> refreshIfOpen(admin, menu));
+        // Border: diamond and blue glass panes
         for (int i = 0; i < 27; i++) {
-            if (i < 9) gui.setItem(i, diamondPane); // Top row
-            else if (i > 17) gui.setItem(i, bluePane); // Bottom row
-            else if (i % 9 == 0) gui.setItem(i, diamondPane); // Left
-            else if (i % 9 == 8) gui.setItem(i, bluePane); // Right
+            if (i < 9) menu.set(i, guiItems.diamondPane); // Top row
+            else if (i > 17) menu.set(i, guiItems.bluePane); // Bottom row
+            else if (i % 9 == 0) menu.set(i, guiItems.diamondPane); // Left
+            else if (i % 9 == 8) menu.set(i, guiItems.bluePane); // Right
         }
         // Center row (row 2, slots 10-16): main actions
-        gui.setItem(10, setC1);
-        gui.setItem(11, setC2);
-        gui.setItem(12, rename);
-        gui.setItem(13, ptType);
-        gui.setItem(14, ptDensity);
-        gui.setItem(15, tpC1);
-        gui.setItem(16, tpC2);
-        // Bottom row (row 3, slots 18-24): admin actions
-        gui.setItem(18, transfer);
-        gui.setItem(20, delete);
-        gui.setItem(22, config);
-        gui.setItem(24, forceRegen);
-        admin.openInventory(gui);
-        adminEditingArea.put(admin.getUniqueId(), area);
-    }
-
-    private final Map<UUID, Area> adminEditingArea = new HashMap<>();
+        menu.set(10, GuiItems.glowing(Material.NETHER_STAR, ChatColor.GREEN + "Set Corner 1 (to your location)",
+            ChatColor.GRAY + "Current: " + area.x1 + ", " + area.y1 + ", " + area.z1,
+            ChatColor.YELLOW + "Click to set to your location"));
+        menu.set(11, GuiItems.glowing(Material.NETHER_STAR, ChatColor.GREEN + "Set Corner 2 (to your location)",
+            ChatColor.GRAY + "Current: " + area.x2 + ", " + area.y2 + ", " + area.z2,
+            ChatColor.YELLOW + "Click to set to your location"));
+        menu.set(12, guiItems.rename);
+        menu.set(13, GuiItems.glowing(Material.FIREWORK_STAR, ChatColor.AQUA + "Cycle Particle Type",
+            ChatColor.LIGHT_PURPLE + "Try all the magical effects!",
+            ChatColor.GRAY + "Current: " + (owner == null ? "Loading..." : SELECTABLE_PARTICLES.get(owner.particleIndex).name())));
+        String density = owner == null ? "Loading..." : owner.particleDensity == 1 ? "Low" : owner.particleDensity == 2 ? "Medium" : "High";
+        menu.set(14, GuiItems.glowing(Material.GUNPOWDER, ChatColor.AQUA + "Cycle Particle Density",
+            ChatColor.GRAY + "Adjust the sparkle power!",
+            ChatColor.GRAY + "Current: " + density));
+        menu.set(15, guiItems.teleport1);
+        menu.set(16, guiItems.teleport2);
+        // Bottom row (row 3, slots 18-26): admin actions
+        menu.set(18, guiItems.transfer);
+        menu.set(20, guiItems.deleteArea);
+        menu.set(22, guiItems.editConfig);
+        menu.set(24, guiItems.forceRegenArea);
+        menu.set(26, guiItems.snapshotArea);
+    }
 
-    @EventHandler
-    public void onAdminAreaEditClick(InventoryClickEvent event) {
-        if (!(event.getWhoClicked() instanceof Player admin)) return;
-        if (!event.getView().getTitle().startsWith(ChatColor.RED + "Edit Area: ")) return;
-        event.setCancelled(true);
-        Area area = adminEditingArea.get(admin.getUniqueId());
-        if (area == null) return;
-        int slot = event.getRawSlot();
+    private void handleAdminAreaEditClick(Player admin, MenuHolder menu, int slot) {
+        Area area = menu.area;
         switch (slot) {
             case 10 -> { // Set Corner 1
-                area.corner1 = admin.getLocation();
+                Location loc = admin.getLocation();
+                if (!canMoveCorner(admin, area, loc, area.x2, area.z2)) return;
+                area.setCorner1(loc);
+                markAreasChanged(area);
                 admin.sendMessage(ChatColor.GREEN + "Corner 1 set to your location.");
-                saveDataAsync();
-                Bukkit.getScheduler().runTaskLater(this, () -> openAdminAreaEditGUI(admin, area), 2L);
+                requestSave();
+                refreshMenu(admin, menu);
             }
             case 11 -> { // Set Corner 2
-                area.corner2 = admin.getLocation();
+                Location loc = admin.getLocation();
+                if (!canMoveCorner(admin, area, loc, area.x1, area.z1)) return;
+                area.setCorner2(loc);
+                markAreasChanged(area);
                 admin.sendMessage(ChatColor.GREEN + "Corner 2 set to your location.");
-                saveDataAsync();
-                Bukkit.getScheduler().runTaskLater(this, () -> openAdminAreaEditGUI(admin, area), 2L);
+                requestSave();
+                refreshMenu(admin, menu);
             }
             case 12 -> { // Rename
                 admin.closeInventory();
@@ -779,27 +1620,36 @@ public class OreRegenPlugin extends JavaPlugin implements Listener {
                 adminRenameMode.put(admin.getUniqueId(), area);
             }
             case 13 -> { // Cycle particle type
-                int idx = playerParticleIndex.getOrDefault(area.owner, 0);
-                idx = (idx + 1) % SELECTABLE_PARTICLES.size();
-                playerParticleIndex.put(area.owner, idx);
-                admin.sendMessage(ChatColor.AQUA + "Particle type set to: " + SELECTABLE_PARTICLES.get(idx).name());
-                saveDataAsync();
-                Bukkit.getScheduler().runTaskLater(this, () -> openAdminAreaEditGUI(admin, area), 2L);
+                OwnerDetails owner = details.get(area.owner);
+                if (owner == null) {
+                    admin.sendMessage(ChatColor.GRAY + "Owner settings are still loading, try again in a moment.");
+                    return;
+                }
+                owner.particleIndex = (owner.particleIndex + 1) % SELECTABLE_PARTICLES.size();
+                details.markDirty(owner);
+                admin.sendMessage(ChatColor.AQUA + "Particle type set to: " + SELECTABLE_PARTICLES.get(owner.particleIndex).name());
+                requestSave();
+                refreshMenu(admin, menu);
             }
             case 14 -> { // Cycle particle density
-                int density = particleDensity.getOrDefault(area.owner, 2);
-                density = (density % 3) + 1;
-                particleDensity.put(area.owner, density);
+                OwnerDetails owner = details.get(area.owner);
+                if (owner == null) {
+                    admin.sendMessage(ChatColor.GRAY + "Owner settings are still loading, try again in a moment.");
+                    return;
+                }
+                int density = (owner.particleDensity % 3) + 1;
+                owner.particleDensity = density;
+                details.markDirty(owner);
                 admin.sendMessage(ChatColor.AQUA + "Particle density set to: " + (density == 1 ? "Low" : density == 2 ? "Medium" : "High"));
-                saveDataAsync();
-                Bukkit.getScheduler().runTaskLater(this, () -> openAdminAreaEditGUI(admin, area), 2L);
+                requestSave();
+                refreshMenu(admin, menu);
             }
             case 15 -> { // Teleport to Corner 1
-                admin.teleport(area.corner1);
+                admin.teleport(area.corner1());
                 admin.sendMessage(ChatColor.LIGHT_PURPLE + "Teleported to Corner 1.");
             }
             case 16 -> { // Teleport to Corner 2
-                admin.teleport(area.corner2);
+                admin.teleport(area.corner2());
                 admin.sendMessage(ChatColor.LIGHT_PURPLE + "Teleported to Corner 2.");
             }
             case 18 -> { // Transfer Ownership
@@ -808,173 +1658,179 @@ public class OreRegenPlugin extends JavaPlugin implements Listener {
             }
             case 20 -> { // Delete
                 buildAreas.values().forEach(areas -> areas.remove(area));
+                forgetAreaDetails(area);
+                markAreasChanged(area);
                 admin.sendMessage(ChatColor.RED + "Area deleted.");
-                saveDataAsync();
+                requestSave();
                 admin.closeInventory();
-                adminEditingArea.remove(admin.getUniqueId());
                 Bukkit.getScheduler().runTaskLater(this, () -> openAdminAreaListGUI(admin), 2L);
             }
             case 22 -> { // Config
                 openAdminConfigGUI(admin);
             }
-            case 24 -> { // Force Regen
-                // (Stub) Add force regen logic here
-                admin.sendMessage(ChatColor.LIGHT_PURPLE + "Force regen feature coming soon!");
+            case 24 -> { // Force Regen: roll the area back to its last snapshot
+                admin.closeInventory();
+                snapshots.restore(area, admin);
+            }
+            case 26 -> { // Snapshot
+                admin.closeInventory();
+                snapshots.capture(area, admin);
             }
         }
     }
 
     // Admin rename/transfer mode tracking
-    private final Map<UUID, Area> adminRenameMode = new HashMap<>();
+    private final Map<UUID, Area> adminRenameMode = new ConcurrentHashMap<>();
 
-    // Chat handler for area naming and admin commands
+    // Chat handler for area naming and admin commands. This runs on the async chat thread, so it
+    // only claims the pending prompt and hands the edit to the main thread as a command.
     @EventHandler
     public void onAsyncPlayerChat(AsyncPlayerChatEvent event) {
         Player player = event.getPlayer();
         UUID uuid = player.getUniqueId();
-        if (adminRenameMode.containsKey(uuid)) {
+        String message = event.getMessage().trim();
+        if (adminSearchMode.remove(uuid)) {
             event.setCancelled(true);
-            String newName = event.getMessage().trim();
-            Area area = adminRenameMode.remove(uuid);
-            area.name = newName;
-            player.sendMessage(ChatColor.GREEN + "Area renamed to: " + ChatColor.AQUA + newName);
-            saveData();
-            Bukkit.getScheduler().runTaskLater(this, () -> openAdminAreaEditGUI(player, area), 2L);
+            Bukkit.getScheduler().runTask(this, () -> applyAdminSearch(player, message));
             return;
         }
-        if (areaNames.containsKey(uuid)) {
+        Area renaming = adminRenameMode.remove(uuid);
+        if (renaming != null) {
             event.setCancelled(true);
-            String val = areaNames.get(uuid);
-            if (val.endsWith("|rename")) {
-                String oldName = val.substring(0, val.length() - 7);
-                String newName = event.getMessage().trim();
-                List<Area> areas = getPlayerAreas(uuid);
-                Area area = null;
-                for (Area a : areas) {
-                    if (a.name.equals(oldName)) {
-                        area = a;
-                        break;
-                    }
-                }
-                if (area != null) {
-                    area.name = newName;
-                    player.sendMessage(ChatColor.GREEN + "Area renamed to: " + ChatColor.AQUA + newName);
-                } else {
-                    player.sendMessage(ChatColor.RED + "Area not found.");
-                }
-                areaNames.remove(uuid);
-                saveData();
-                Bukkit.getScheduler().runTaskLater(this, () -> openBuildAreaGUI(player), 2L);
-                return;
-            } else if (val.endsWith("|trust")) {
-                String areaName = val.substring(0, val.length() - 6);
-                String targetName = event.getMessage().trim();
-                List<Area> areas = getPlayerAreas(uuid);
-                final Area area = areas.stream().filter(a -> a.name.equals(areaName)).findFirst().orElse(null);
-                if (area == null) {
-                    player.sendMessage(ChatColor.RED + "Area not found.");
-                } else {
-                    OfflinePlayer target = Bukkit.getOfflinePlayer(targetName);
-                    if (target == null || target.getUniqueId() == null) {
-                        player.sendMessage(ChatColor.RED + "Player not found.");
-                    } else if (area.getTrusted().contains(target.getUniqueId())) {
-                        area.removeTrusted(target.getUniqueId());
-                        player.sendMessage(ChatColor.YELLOW + "Removed trusted player: " + ChatColor.AQUA + targetName);
-                    } else {
-                        area.addTrusted(target.getUniqueId());
-                        player.sendMessage(ChatColor.GREEN + "Added trusted player: " + ChatColor.AQUA + targetName);
-                    }
-                }
-                areaNames.remove(uuid);
-                saveData();
-                if (area != null) {
-                    Bukkit.getScheduler().runTaskLater(this, () -> openPlayerAreaEditGUI(player, area), 2L);
-                }
+            Bukkit.getScheduler().runTask(this, () -> applyAdminRename(player, renaming, message));
+            return;
+        }
+        String val = areaNames.get(uuid);
+        if (val == null) return;
+        event.setCancelled(true);
+        if (val.endsWith("|rename")) {
+            areaNames.remove(uuid);
+            int areaId = Integer.parseInt(val.substring(0, val.length() - 7));
+            Bukkit.getScheduler().runTask(this, () -> applyRename(player, areaId, message));
+        } else if (val.endsWith("|trust")) {
+            areaNames.remove(uuid);
+            int areaId = Integer.parseInt(val.substring(0, val.length() - 6));
+            Bukkit.getScheduler().runTask(this, () -> applyTrustToggle(player, areaId, message));
+        } else {
+            // Normal area naming mode
+            areaNames.put(uuid, message);
+            player.sendMessage(ChatColor.GREEN + "Area name set to: " + ChatColor.AQUA + message);
+            Bukkit.getScheduler().runTaskLater(this, () -> openBuildAreaGUI(player), 2L);
+        }
+    }
+
+    // Chat commands, applied on the main thread
+
+    private void applyAdminSearch(Player admin, String query) {
+        AreaBrowser browser = adminBrowsers.computeIfAbsent(admin.getUniqueId(), k -> new AreaBrowser());
+        browser.query = query.equalsIgnoreCase("clear") ? "" : query;
+        browser.page = 0;
+        browser.invalidate();
+        openAdminAreaListGUI(admin);
+    }
+
+    private void applyAdminRename(Player admin, Area area, String newName) {
+        withDetails(area.owner, owner -> {
+            setAreaName(owner, area.id, newName);
+            if (replication != null) replication.renamed(area.owner, area.id, newName);
+            markAreasChanged(area);
+            requestSave();
+            if (!admin.isOnline()) return;
+            admin.sendMessage(ChatColor.GREEN + "Area renamed to: " + ChatColor.AQUA + newName);
+            openAdminAreaEditGUI(admin, area);
+        });
+    }
+
+    private void applyRename(Player player, int areaId, String newName) {
+        Area area = findPlayerArea(player.getUniqueId(), areaId);
+        if (area == null) {
+            player.sendMessage(ChatColor.RED + "Area not found.");
+            return;
+        }
+        // The owner is online, so their details are pinned (or about to be)
+        withDetails(area.owner, owner -> {
+            setAreaName(owner, area.id, newName);
+            if (replication != null) replication.renamed(area.owner, area.id, newName);
+            markAreasChanged(area);
+            requestSave();
+            if (!player.isOnline()) return;
+            player.sendMessage(ChatColor.GREEN + "Area renamed to: " + ChatColor.AQUA + newName);
+            openBuildAreaGUI(player);
+        });
+    }
+
+    private void applyTrustToggle(Player player, int areaId, String targetName) {
+        nameResolver.resolve(targetName, target -> {
+            Area area = findPlayerArea(player.getUniqueId(), areaId);
+            if (area == null) {
+                player.sendMessage(ChatColor.RED + "Area not found.");
                 return;
+            }
+            if (target == null) {
+                player.sendMessage(ChatColor.RED + "Player not found.");
+            } else if (area.hasTrusted(target)) {
+                area.removeTrusted(target);
+                player.sendMessage(ChatColor.YELLOW + "Removed trusted player: " + ChatColor.AQUA + targetName);
             } else {
-                // Normal area naming mode
-                String newName = event.getMessage().trim();
-                areaNames.put(uuid, newName);
-                player.sendMessage(ChatColor.GREEN + "Area name set to: " + ChatColor.AQUA + newName);
-                Bukkit.getScheduler().runTaskLater(this, () -> openBuildAreaGUI(player), 2L);
+                area.addTrusted(target);
+                player.sendMessage(ChatColor.GREEN + "Added trusted player: " + ChatColor.AQUA + targetName);
             }
-        }
+            areasDirty = true;
+            if (replication != null) replication.areaChanged(area.id);
+            queryIndex.invalidate();
+            requestSave();
+            if (player.isOnline()) openPlayerAreaEditGUI(player, area);
+        });
     }
 
-    // Opens the admin config GUI (stub, expand as needed)
+    // Opens the admin config GUI
     private void openAdminConfigGUI(Player admin) {
-        Inventory gui = Bukkit.createInventory(null, 45, ChatColor.BLUE + "ResourceRegen Config");
+        MenuHolder menu = MenuHolder.create(MenuHolder.Type.CONFIG, null, 45, ChatColor.BLUE + "ResourceRegen Config");
+        renderAdminConfigGUI(menu);
+        admin.openInventory(menu.getInventory());
+    }
+
+    private void renderAdminConfigGUI(MenuHolder menu) {
+        Settings current = settings;
         // Toggle particles for all
-        ItemStack toggleParticles = new ItemStack(Material.BLAZE_POWDER);
-        ItemMeta toggleMeta = toggleParticles.getItemMeta();
-        if (toggleMeta != null) {
-            toggleMeta.setDisplayName(ChatColor.AQUA + "Show Particles to Owners Only: " + (showParticlesToOwnersOnly ? ChatColor.GREEN + "ON" : ChatColor.RED + "OFF"));
-            toggleMeta.setLore(Collections.singletonList(ChatColor.GRAY + "Click to toggle"));
-            toggleParticles.setItemMeta(toggleMeta);
-        }
-        gui.setItem(10, toggleParticles);
+        menu.set(10, GuiItems.item(Material.BLAZE_POWDER, ChatColor.AQUA + "Show Particles to Owners Only: " + (current.showParticlesToOwnersOnly ? ChatColor.GREEN + "ON" : ChatColor.RED + "OFF"),
+            ChatColor.GRAY + "Click to toggle"));
         // Regen batch size
-        ItemStack batchSize = new ItemStack(Material.HOPPER);
-        ItemMeta batchMeta = batchSize.getItemMeta();
-        if (batchMeta != null) {
-            batchMeta.setDisplayName(ChatColor.YELLOW + "Regen Batch Size: " + regenBatchSize);
-            batchMeta.setLore(Collections.singletonList(ChatColor.GRAY + "Click to increase (max 20)"));
-            batchSize.setItemMeta(batchMeta);
-        }
-        gui.setItem(12, batchSize);
+        menu.set(12, GuiItems.item(Material.HOPPER, ChatColor.YELLOW + "Regen Batch Size: " + current.regenBatchSize,
+            ChatColor.GRAY + "Click to increase (max 20)"));
         // Max tracked blocks
-        ItemStack maxTracked = new ItemStack(Material.CHEST);
-        ItemMeta maxTrackedMeta = maxTracked.getItemMeta();
-        if (maxTrackedMeta != null) {
-            maxTrackedMeta.setDisplayName(ChatColor.GOLD + "Max Tracked Blocks: " + maxTrackedBlocks);
-            maxTrackedMeta.setLore(Collections.singletonList(ChatColor.GRAY + "Click to increase (max 50000)"));
-            maxTracked.setItemMeta(maxTrackedMeta);
-        }
-        gui.setItem(14, maxTracked);
+        menu.set(14, GuiItems.item(Material.CHEST, ChatColor.GOLD + "Max Tracked Blocks: " + current.maxTrackedBlocks,
+            ChatColor.GRAY + "Click to increase (max 50000)"));
         // Max areas per player
-        ItemStack maxAreas = new ItemStack(Material.BOOK);
-        ItemMeta maxAreasMeta = maxAreas.getItemMeta();
-        if (maxAreasMeta != null) {
-            maxAreasMeta.setDisplayName(ChatColor.LIGHT_PURPLE + "Max Areas Per Player: " + maxAreasPerPlayer);
-            maxAreasMeta.setLore(Collections.singletonList(ChatColor.GRAY + "Click to increase (max 10)"));
-            maxAreas.setItemMeta(maxAreasMeta);
-        }
-        gui.setItem(16, maxAreas);
+        menu.set(16, GuiItems.item(Material.BOOK, ChatColor.LIGHT_PURPLE + "Max Areas Per Player: " + current.maxAreasPerPlayer,
+            ChatColor.GRAY + "Click to increase (max 10)"));
         // Save & Close
-        ItemStack saveClose = new ItemStack(Material.EMERALD_BLOCK);
-        ItemMeta saveCloseMeta = saveClose.getItemMeta();
-        if (saveCloseMeta != null) {
-            saveCloseMeta.setDisplayName(ChatColor.GREEN + "Save & Close");
-            saveCloseMeta.setLore(Collections.singletonList(ChatColor.GRAY + "Apply changes and close"));
-            saveClose.setItemMeta(saveCloseMeta);
-        }
-        gui.setItem(31, saveClose);
-        admin.openInventory(gui);
+        menu.set(31, guiItems.saveClose);
     }
-    @EventHandler
-    public void onConfigGUIClick(InventoryClickEvent event) {
-        if (!(event.getWhoClicked() instanceof Player admin)) return;
-        if (!event.getView().getTitle().equals(ChatColor.BLUE + "ResourceRegen Config")) return;
-        event.setCancelled(true);
-        int slot = event.getRawSlot();
+    private void handleConfigGUIClick(Player admin, MenuHolder menu, int slot) {
+        Settings current = settings;
         if (slot == 10) {
-            showParticlesToOwnersOnly = !showParticlesToOwnersOnly;
-            admin.sendMessage(ChatColor.AQUA + "Show Particles to Owners Only: " + (showParticlesToOwnersOnly ? ChatColor.GREEN + "ON" : ChatColor.RED + "OFF"));
-            openAdminConfigGUI(admin);
+            boolean value = !current.showParticlesToOwnersOnly;
+            updateConfig("particle.show-to-owners-only", value);
+            admin.sendMessage(ChatColor.AQUA + "Show Particles to Owners Only: " + (value ? ChatColor.GREEN + "ON" : ChatColor.RED + "OFF"));
+            refreshMenu(admin, menu);
         } else if (slot == 12) {
-            regenBatchSize = Math.min(regenBatchSize + 1, 20);
-            admin.sendMessage(ChatColor.YELLOW + "Regen Batch Size set to: " + regenBatchSize);
-            openAdminConfigGUI(admin);
+            int value = Math.min(current.regenBatchSize + 1, 20);
+            updateConfig("regeneration.batch-size", value);
+            admin.sendMessage(ChatColor.YELLOW + "Regen Batch Size set to: " + value);
+            refreshMenu(admin, menu);
         } else if (slot == 14) {
-            maxTrackedBlocks = Math.min(maxTrackedBlocks + 1000, 50000);
-            admin.sendMessage(ChatColor.GOLD + "Max Tracked Blocks set to: " + maxTrackedBlocks);
-            openAdminConfigGUI(admin);
+            int value = Math.min(current.maxTrackedBlocks + 1000, 50000);
+            updateConfig("regeneration.max-tracked-blocks", value);
+            admin.sendMessage(ChatColor.GOLD + "Max Tracked Blocks set to: " + value);
+            refreshMenu(admin, menu);
         } else if (slot == 16) {
-            maxAreasPerPlayer = Math.min(maxAreasPerPlayer + 1, 10);
-            admin.sendMessage(ChatColor.LIGHT_PURPLE + "Max Areas Per Player set to: " + maxAreasPerPlayer);
-            openAdminConfigGUI(admin);
+            int value = Math.min(current.maxAreasPerPlayer + 1, 10);
+            updateConfig("area.max-areas-per-player", value);
+            admin.sendMessage(ChatColor.LIGHT_PURPLE + "Max Areas Per Player set to: " + value);
+            refreshMenu(admin, menu);
         } else if (slot == 31) {
-            saveConfig();
+            saveConfigAsync();
             admin.sendMessage(ChatColor.GREEN + "Configuration saved.");
             admin.closeInventory();
         }
@@ -997,22 +1853,20 @@ public class OreRegenPlugin extends JavaPlugin implements Listener {
         if (command.getName().equalsIgnoreCase("oregendebug")) {
             sender.sendMessage(ChatColor.GOLD + "[OreRegen] Debug Info:");
             sender.sendMessage(ChatColor.YELLOW + "Build Areas: " + buildAreas.size());
-            sender.sendMessage(ChatColor.YELLOW + "Tracked Ores: " + brokenOres.size());
-            sender.sendMessage(ChatColor.YELLOW + "Online Players: " + Bukkit.getOnlinePlayers().size());
-            sender.sendMessage(ChatColor.YELLOW + "Particle Density Map: " + particleDensity.size());
-            sender.sendMessage(ChatColor.YELLOW + "Particle Type Map: " + playerParticleIndex.size());
+            sender.sendMessage(ChatColor.YELLOW + "Tracked Ores (queued): " + queuedBlocks + ", stored only: " + storedBacklog
+                + (blocksReady ? "" : " (still loading)"));
+            sender.sendMessage(ChatColor.YELLOW + "Storage: " + storage.getClass().getSimpleName());
+            sender.sendMessage(ChatColor.YELLOW + "Tracked Materials: " + settings.regenPolicy.trackedMaterialCount());
+            sender.sendMessage(ChatColor.YELLOW + "Online Players: " + Bukkit.getOnlinePlayers().size() + " (sessions: " + sessions.size() + ")");
+            sender.sendMessage(ChatColor.YELLOW + "Owner Details Loaded: " + details.size());
+            for (String line : io.report()) sender.sendMessage(ChatColor.YELLOW + line);
             return true;
         }
         return false;
     }
 
-    // Prevent item pickup/movement in player GUI
-    @EventHandler
-    public void onBuildAreaGUIClick(InventoryClickEvent event) {
-        if (!(event.getWhoClicked() instanceof Player player)) return;
-        if (!event.getView().getTitle().equals(ChatColor.GOLD + "Your Build Areas")) return;
-        event.setCancelled(true);
-        int slot = event.getRawSlot();
+    // Player build area list clicks
+    private void handleBuildAreaGUIClick(Player player, int slot) {
         UUID uuid = player.getUniqueId();
         List<Area> areas = getPlayerAreas(uuid);
         // Area slots: 10-43
@@ -1022,8 +1876,9 @@ public class OreRegenPlugin extends JavaPlugin implements Listener {
             return;
         }
         // Create new area button
-        if (slot == 49 && areas.size() < maxAreasPerPlayer) {
-            selectingCorners.add(uuid);
+        if (slot == 49 && areas.size() < settings.maxAreasPerPlayer) {
+            PlayerSession session = sessions.get(uuid);
+            if (session != null) session.selectingCorners = true;
             player.closeInventory();
             player.sendMessage(ChatColor.AQUA + "You are now selecting a new area. Use the wand to set corners.");
             return;
@@ -1032,78 +1887,40 @@ public class OreRegenPlugin extends JavaPlugin implements Listener {
 
     // New: Player area edit GUI for a specific area
     private void openPlayerAreaEditGUI(Player player, Area area) {
-        Inventory gui = Bukkit.createInventory(null, 27, ChatColor.AQUA + "Manage Area: " + area.name);
+        MenuHolder menu = MenuHolder.create(MenuHolder.Type.PLAYER_AREA_EDIT, area, 27, ChatColor.AQUA + "Manage Area: " + areaName(area));
+        renderPlayerAreaEditGUI(menu);
+        player.openInventory(menu.getInventory());
+    }
+
+    private void renderPlayerAreaEditGUI(MenuHolder menu) {
+        Area area = menu.area;
         // Border
-        ItemStack border = new ItemStack(Material.LIGHT_BLUE_STAINED_GLASS_PANE);
-        ItemMeta borderMeta = border.getItemMeta();
-        if (borderMeta != null) {
-            borderMeta.setDisplayName(ChatColor.AQUA + "✦");
-            border.setItemMeta(borderMeta);
-        }
         for (int i = 0; i < 27; i++) {
-            if (i < 9 || i >= 18 || i % 9 == 0 || i % 9 == 8) gui.setItem(i, border);
-        }
-        // Rename
-        ItemStack rename = new ItemStack(Material.NAME_TAG);
-        ItemMeta rMeta = rename.getItemMeta();
-        if (rMeta != null) {
-            rMeta.setDisplayName(ChatColor.YELLOW + "Rename Area");
-            rMeta.setLore(Arrays.asList(ChatColor.GRAY + "Click to rename this area."));
-            rename.setItemMeta(rMeta);
-        }
-        gui.setItem(10, rename);
-        // Delete
-        ItemStack delete = new ItemStack(Material.RED_STAINED_GLASS);
-        ItemMeta dMeta = delete.getItemMeta();
-        if (dMeta != null) {
-            dMeta.setDisplayName(ChatColor.RED + "Delete Area");
-            dMeta.setLore(Arrays.asList(ChatColor.DARK_RED + "Click to delete this area!"));
-            delete.setItemMeta(dMeta);
-        }
-        gui.setItem(16, delete);
+            if (i < 9 || i >= 18 || i % 9 == 0 || i % 9 == 8) menu.set(i, guiItems.diamondPane);
+        }
+        menu.set(10, guiItems.playerRename);
+        menu.set(16, guiItems.playerDelete);
         // Trust management
-        ItemStack trust = new ItemStack(Material.PLAYER_HEAD);
-        ItemMeta tMeta = trust.getItemMeta();
-        if (tMeta != null) {
-            tMeta.setDisplayName(ChatColor.GREEN + "Trusted Players");
-            List<String> lore = new ArrayList<>();
-            if (area.getTrusted().isEmpty()) {
-                lore.add(ChatColor.GRAY + "No trusted players.");
-            } else {
-                lore.add(ChatColor.YELLOW + "Trusted:");
-                for (UUID t : area.getTrusted()) {
-                    String name = Bukkit.getOfflinePlayer(t).getName();
-                    lore.add(ChatColor.AQUA + "- " + (name != null ? name : t.toString()));
-                }
+        List<String> lore = new ArrayList<>();
+        if (area.trusted.isEmpty()) {
+            lore.add(ChatColor.GRAY + "No trusted players.");
+        } else {
+            lore.add(ChatColor.YELLOW + "Trusted:");
+            for (UUID t : area.getTrusted()) {
+                lore.add(ChatColor.AQUA + "- " + ownerHeads.name(t));
             }
-            lore.add("");
-            lore.add(ChatColor.GRAY + "Click to add/remove trusted players.");
-            tMeta.setLore(lore);
-            trust.setItemMeta(tMeta);
         }
-        gui.setItem(13, trust);
+        lore.add("");
+        lore.add(ChatColor.GRAY + "Click to add/remove trusted players.");
+        menu.set(13, GuiItems.item(Material.PLAYER_HEAD, ChatColor.GREEN + "Trusted Players", lore));
         // Particle settings, etc. (future: add more per-area options)
-        player.openInventory(gui);
     }
 
     // Trust management click handler
-    @EventHandler
-    public void onPlayerAreaEditGUIClick(InventoryClickEvent event) {
-        if (!(event.getWhoClicked() instanceof Player player)) return;
-        String title = event.getView().getTitle();
-        if (!title.startsWith(ChatColor.AQUA + "Manage Area: ")) return;
-        event.setCancelled(true);
-        int slot = event.getRawSlot();
-        String areaName = title.substring((ChatColor.AQUA + "Manage Area: ").length());
+    private void handlePlayerAreaEditGUIClick(Player player, Area area, int slot) {
         UUID uuid = player.getUniqueId();
-        Area area = null;
-        for (Area a : getPlayerAreas(uuid)) {
-            if (a.name.equals(areaName)) {
-                area = a;
-                break;
-            }
-        }
-        if (area == null) {
+        // The area may have been deleted (e.g. by an admin) while this menu was open
+        if (!getPlayerAreas(uuid).contains(area)) {
             player.sendMessage(ChatColor.RED + "Area not found.");
             player.closeInventory();
             return;
@@ -1111,16 +1928,20 @@ public class OreRegenPlugin extends JavaPlugin implements Listener {
         if (slot == 10) { // Rename
             player.closeInventory();
             player.sendMessage(ChatColor.YELLOW + "Type the new name for this area in chat:");
-            areaNames.put(uuid, area.name + "|rename");
+            areaNames.put(uuid, area.id + "|rename");
         } else if (slot == 16) { // Delete
+            String name = areaName(area);
             buildAreas.getOrDefault(uuid, new ArrayList<>()).remove(area);
-            player.sendMessage(ChatColor.RED + "Area deleted: " + ChatColor.AQUA + area.name);
+            forgetAreaDetails(area);
+            markAreasChanged(area);
+            requestSave();
+            player.sendMessage(ChatColor.RED + "Area deleted: " + ChatColor.AQUA + name);
             player.closeInventory();
             openBuildAreaGUI(player);
         } else if (slot == 13) { // Trust management
             player.closeInventory();
             player.sendMessage(ChatColor.YELLOW + "Type the player name to add/remove as trusted for this area:");
-            areaNames.put(uuid, area.name + "|trust");
+            areaNames.put(uuid, area.id + "|trust");
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.example.oregen;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+// Lazily loaded OwnerDetails. Online owners are pinned; offline owners sit in a bounded LRU
+// and are written back (if changed) when evicted. Protection never depends on this cache:
+// bounds and trust are resident in the area index.
+// All methods must be called on the main thread; storage reads and writes run on the storage executor.
+final class OwnerDetailCache {
+
+    private final Plugin plugin;
+    private final Storage storage;
+    private final Executor io;
+    private final Map<UUID, OwnerDetails> pinned = new HashMap<>();
+    private final LinkedHashMap<UUID, OwnerDetails> recent;
+    private final Map<UUID, List<Runnable>> loading = new HashMap<>();
+    // Evicted with changes after the storage thread stopped; written by the final save's drainDirty()
+    private final Map<UUID, OwnerDetails> unsaved = new HashMap<>();
+
+    OwnerDetailCache(Plugin plugin, Storage storage, Executor io, int capacity) {
+        this.plugin = plugin;
+        this.storage = storage;
+        this.io = io;
+        int max = Math.max(16, capacity);
+        this.recent = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, OwnerDetails> eldest) {
+                if (size() <= max) return false;
+                writeIfDirty(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    // Details if resident, without triggering a load
+    OwnerDetails get(UUID owner) {
+        OwnerDetails d = pinned.get(owner);
+        return d != null ? d : recent.get(owner);
+    }
+
+    // Details if resident; otherwise start an async load and run the callback (if any) once it is in
+    OwnerDetails request(UUID owner, Runnable onLoad) {
+        OwnerDetails d = get(owner);
+        if (d != null) return d;
+        List<Runnable> waiters = loading.get(owner);
+        if (waiters != null) {
+            if (onLoad != null) waiters.add(onLoad);
+            return null;
+        }
+        waiters = new ArrayList<>();
+        if (onLoad != null) waiters.add(onLoad);
+        loading.put(owner, waiters);
+        io.execute(() -> {
+            OwnerDetails loaded;
+            try {
+                loaded = storage.loadOwner(owner);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "[ResourceRegen] Could not load details for " + owner, e);
+                loaded = null;
+            }
+            OwnerDetails result = loaded != null ? loaded : new OwnerDetails(owner);
+            Bukkit.getScheduler().runTask(plugin, () -> publish(result));
+        });
+        return null;
+    }
+
+    private void publish(OwnerDetails details) {
+        if (Bukkit.getPlayer(details.owner) != null) {
+            pinned.put(details.owner, details);
+        } else {
+            recent.put(details.owner, details);
+        }
+        List<Runnable> waiters = loading.remove(details.owner);
+        if (waiters != null) waiters.forEach(Runnable::run);
+    }
+
+    // Owner came online: keep their details resident (loading them if needed)
+    void pin(UUID owner) {
+        OwnerDetails d = recent.remove(owner);
+        if (d != null) {
+            pinned.put(owner, d);
+        } else if (!pinned.containsKey(owner)) {
+            request(owner, null);
+        }
+    }
+
+    // Owner went offline: details become evictable
+    void unpin(UUID owner) {
+        OwnerDetails d = pinned.remove(owner);
+        if (d != null) recent.put(owner, d);
+    }
+
+    void markDirty(OwnerDetails details) {
+        details.dirty = true;
+    }
+
+    // Encode every changed entry for saving and clear the dirty flags
+    Map<UUID, byte[]> drainDirty() {
+        Map<UUID, byte[]> out = new HashMap<>();
+        for (OwnerDetails d : pinned.values()) drain(d, out);
+        for (OwnerDetails d : recent.values()) drain(d, out);
+        for (OwnerDetails d : unsaved.values()) drain(d, out);
+        unsaved.clear();
+        return out;
+    }
+
+    // Drop all offline owners' details (changes are written first)
+    void evictOffline() {
+        for (OwnerDetails d : recent.values()) writeIfDirty(d);
+        recent.clear();
+    }
+
+    int size() {
+        return pinned.size() + recent.size();
+    }
+
+    private static void drain(OwnerDetails d, Map<UUID, byte[]> out) {
+        if (!d.dirty) return;
+        d.dirty = false;
+        out.put(d.owner, d.encode());
+    }
+
+    private void writeIfDirty(OwnerDetails d) {
+        if (!d.dirty) return;
+        d.dirty = false;
+        Map<UUID, byte[]> encoded = Map.of(d.owner, d.encode());
+        Runnable write = () -> {
+            try {
+                storage.saveOwners(encoded);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "[ResourceRegen] Could not save details for " + d.owner, e);
+            }
+        };
+        try {
+            io.execute(write);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; never write from the calling (main) thread here, the final save does it
+            d.dirty = true;
+            unsaved.put(d.owner, d);
+        }
+    }
+}
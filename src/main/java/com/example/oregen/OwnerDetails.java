@@ -0,0 +1,70 @@
+package com.example.oregen;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Per-owner data that protection does not need: area display names, particle preferences
+// and area metadata. Loaded on demand (join, GUI open) and evicted when the owner is offline.
+final class OwnerDetails implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    static final class AreaInfo implements Serializable {
+        private static final long serialVersionUID = 1L;
+        String name;
+        long created;
+        AreaInfo(String name, long created) {
+            this.name = name;
+            this.created = created;
+        }
+    }
+
+    final UUID owner;
+    final Map<Integer, AreaInfo> areas = new HashMap<>(); // Keyed by Area.id
+    int particleIndex; // Index into the selectable particle list
+    int particleDensity = 2; // 1=Low, 2=Medium, 3=High
+    transient boolean dirty;
+
+    OwnerDetails(UUID owner) {
+        this.owner = owner;
+    }
+
+    String name(int areaId) {
+        AreaInfo info = areas.get(areaId);
+        return info != null && info.name != null ? info.name : "Area #" + areaId;
+    }
+
+    void setName(int areaId, String name) {
+        AreaInfo info = areas.get(areaId);
+        if (info == null) {
+            areas.put(areaId, new AreaInfo(name, System.currentTimeMillis()));
+        } else {
+            info.name = name;
+        }
+    }
+
+    // Serialized form, as stored by every backend
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(this);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Cannot happen for an in-memory stream
+        }
+        return bytes.toByteArray();
+    }
+
+    static OwnerDetails decode(byte[] data) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return (OwnerDetails) in.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException(e);
+        }
+    }
+}
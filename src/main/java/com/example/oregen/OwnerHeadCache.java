@@ -0,0 +1,131 @@
+package com.example.oregen;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.plugin.Plugin;
+
+// Bounded LRU cache of area owner names and pre-built PLAYER_HEAD templates.
+// Lookups never block: a miss returns a placeholder and schedules an async resolve,
+// so opening GUIs with many owners never touches the disk or profile service on the main thread.
+// onResolved runs on the main thread once per tick in which lookups completed, so views sorted
+// by owner name can be rebuilt.
+final class OwnerHeadCache {
+
+    private static final class Entry {
+        final String name;
+        final ItemStack head;
+        Entry(String name, ItemStack head) {
+            this.name = name;
+            this.head = head;
+        }
+    }
+
+    private final Plugin plugin;
+    private final IoExecutor io;
+    private final Runnable onResolved;
+    private final AtomicBoolean notifyQueued = new AtomicBoolean();
+    private final Map<UUID, Entry> entries;
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private final ItemStack placeholder = new ItemStack(Material.PLAYER_HEAD);
+
+    OwnerHeadCache(Plugin plugin, IoExecutor io, int capacity, Runnable onResolved) {
+        this.plugin = plugin;
+        this.io = io;
+        this.onResolved = onResolved;
+        int max = Math.max(16, capacity);
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > max;
+            }
+        };
+    }
+
+    // Owner name, or a short id while the name is still being resolved
+    String name(UUID owner) {
+        Entry e = get(owner);
+        if (e != null && e.name != null) return e.name;
+        return owner.toString().substring(0, 8);
+    }
+
+    // Head template for the owner. Callers that change the meta must clone it first.
+    ItemStack head(UUID owner) {
+        Entry e = get(owner);
+        return e != null ? e.head : placeholder;
+    }
+
+    boolean isResolved(UUID owner) {
+        synchronized (entries) {
+            return entries.containsKey(owner);
+        }
+    }
+
+    // Warm the cache for a set of owners, e.g. after loading area data
+    void prefetch(Collection<UUID> owners) {
+        for (UUID owner : owners) {
+            if (!isResolved(owner)) resolveAsync(owner, null);
+        }
+    }
+
+    // Online players always have an authoritative name; rebuild if it changed since last time
+    void refresh(Player player) {
+        UUID uuid = player.getUniqueId();
+        String current = player.getName();
+        Entry e;
+        synchronized (entries) {
+            e = entries.get(uuid);
+        }
+        if (e == null || !current.equals(e.name)) resolveAsync(uuid, current);
+    }
+
+    private Entry get(UUID owner) {
+        Entry e;
+        synchronized (entries) {
+            e = entries.get(owner);
+        }
+        if (e == null) resolveAsync(owner, null);
+        return e;
+    }
+
+    private void resolveAsync(UUID owner, String knownName) {
+        if (!pending.add(owner)) return;
+        // If the lookup lane is full the placeholder stays and the next get() asks again
+        boolean queued = io.submit(IoExecutor.Lane.SHARED, "head-lookup", () -> {
+            try {
+                OfflinePlayer offline = Bukkit.getOfflinePlayer(owner);
+                String name = knownName != null ? knownName : offline.getName();
+                ItemStack head = new ItemStack(Material.PLAYER_HEAD);
+                ItemMeta meta = head.getItemMeta();
+                if (meta instanceof SkullMeta skullMeta) {
+                    skullMeta.setOwningPlayer(offline);
+                    head.setItemMeta(skullMeta);
+                }
+                synchronized (entries) {
+                    entries.put(owner, new Entry(name, head));
+                }
+                if (notifyQueued.compareAndSet(false, true)) {
+                    Bukkit.getScheduler().runTask(plugin, () -> {
+                        notifyQueued.set(false);
+                        onResolved.run();
+                    });
+                }
+            } finally {
+                pending.remove(owner);
+            }
+        });
+        if (!queued) pending.remove(owner);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.oregen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Interns player UUIDs to small ints so per-area trust lists can be held as BitSets.
+// Ids only live for the lifetime of the server process; trust is always persisted as UUIDs.
+final class PlayerIds {
+
+    private static final Map<UUID, Integer> ids = new ConcurrentHashMap<>();
+    private static final List<UUID> uuids = new ArrayList<>();
+
+    private PlayerIds() {
+    }
+
+    // Id for this player, assigning the next free one on first use
+    static int intern(UUID uuid) {
+        Integer id = ids.get(uuid);
+        if (id != null) return id;
+        synchronized (uuids) {
+            return ids.computeIfAbsent(uuid, k -> {
+                uuids.add(k);
+                return uuids.size() - 1;
+            });
+        }
+    }
+
+    // Id for this player, or -1 if it was never interned (so cannot be trusted anywhere)
+    static int find(UUID uuid) {
+        Integer id = ids.get(uuid);
+        return id != null ? id : -1;
+    }
+
+    static UUID uuid(int id) {
+        synchronized (uuids) {
+            return uuids.get(id);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.oregen;
+
+import org.bukkit.entity.Player;
+
+// Transient state for one online player, created on join and dropped on quit.
+// Main thread only. Replaces the per-feature HashMaps keyed by UUID, so per-tick work reads
+// plain fields instead of doing one hash lookup per feature.
+final class PlayerSession {
+
+    final Player player;
+    final int id; // Interned id (PlayerIds), the same one trust BitSets use
+    boolean selectingCorners;
+    boolean inArea; // Inside one of their own areas as of the last move, for entry/exit messages
+    OwnerDetails details; // The player's own details, set once loaded (pinned while online)
+
+    PlayerSession(Player player) {
+        this.player = player;
+        this.id = PlayerIds.intern(player.getUniqueId());
+    }
+
+    int particleIndex() {
+        return details != null ? details.particleIndex : 0;
+    }
+
+    int particleDensity() {
+        return details != null ? details.particleDensity : 2; // Default medium
+    }
+}
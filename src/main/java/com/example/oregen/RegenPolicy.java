@@ -0,0 +1,178 @@
+package com.example.oregen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+
+// Regeneration policy compiled from the "regeneration" section of config.yml.
+// Material rules are flattened into an array indexed by Material.ordinal() so the
+// block break handler can decide whether (and for how long) to track a block in O(1), and the
+// regen task whether the block now at a tracked spot may be replaced.
+final class RegenPolicy {
+
+    // Marker stored in the delay table for materials that are never tracked
+    static final long UNTRACKED = -1L;
+
+    private static final long DEFAULT_DELAY_SECONDS = 24 * 60 * 60;
+
+    private final long[] delayByOrdinal; // Regen delay in milliseconds, or UNTRACKED
+    private final boolean[] replaceable; // Blocks a regenerated block may overwrite
+    private final Map<String, Boolean> worldEnabled;
+    private final boolean defaultWorldEnabled;
+    private final long defaultDelay;
+    private final int trackedMaterials;
+
+    private RegenPolicy(long[] delayByOrdinal, boolean[] replaceable, Map<String, Boolean> worldEnabled,
+                        boolean defaultWorldEnabled, long defaultDelay) {
+        this.delayByOrdinal = delayByOrdinal;
+        this.replaceable = replaceable;
+        this.worldEnabled = worldEnabled;
+        this.defaultWorldEnabled = defaultWorldEnabled;
+        this.defaultDelay = defaultDelay;
+        int count = 0;
+        for (long delay : delayByOrdinal) {
+            if (delay != UNTRACKED) count++;
+        }
+        this.trackedMaterials = count;
+    }
+
+    // Delay in milliseconds before a block of this type broken in this world regenerates,
+    // or UNTRACKED if the block should not be tracked at all
+    long delayFor(World world, Material type) {
+        if (world != null && !isWorldEnabled(world.getName())) return UNTRACKED;
+        return delayFor(type);
+    }
+
+    long delayFor(Material type) {
+        return delayByOrdinal[type.ordinal()];
+    }
+
+    boolean canReplace(Material current) {
+        return replaceable[current.ordinal()];
+    }
+
+    boolean isWorldEnabled(String world) {
+        return worldEnabled.getOrDefault(world, defaultWorldEnabled);
+    }
+
+    // Delay used for records whose material is no longer covered by the policy
+    long defaultDelay() {
+        return defaultDelay;
+    }
+
+    int trackedMaterialCount() {
+        return trackedMaterials;
+    }
+
+    // Whether a key (relative to the regeneration section) is one compile() reads
+    static boolean uses(String key) {
+        String top = key.split("\\.", 2)[0];
+        return switch (top) {
+            case "default-delay", "allow", "deny", "delays", "replaceable", "worlds" -> true;
+            default -> false;
+        };
+    }
+
+    // Build the lookup tables from config. Unknown material names are logged and skipped.
+    static RegenPolicy compile(ConfigurationSection section, Logger logger) {
+        long defaultDelay = seconds(section == null ? DEFAULT_DELAY_SECONDS
+                : section.getLong("default-delay", DEFAULT_DELAY_SECONDS));
+        Material[] materials = Material.values();
+        long[] delays = new long[materials.length];
+        Arrays.fill(delays, UNTRACKED);
+
+        List<String> allow = section == null ? new ArrayList<>() : section.getStringList("allow");
+        List<String> deny = section == null ? new ArrayList<>() : section.getStringList("deny");
+        boolean[] allowed = new boolean[materials.length];
+        if (allow.isEmpty()) {
+            Arrays.fill(allowed, true);
+        } else {
+            for (String pattern : allow) mark(pattern, allowed, true, logger);
+        }
+        for (String pattern : deny) mark(pattern, allowed, false, logger);
+        for (Material m : materials) {
+            if (allowed[m.ordinal()] && m.isBlock() && !m.isAir() && !m.isLegacy()) {
+                delays[m.ordinal()] = defaultDelay;
+            }
+        }
+
+        // Per-material overrides: wildcard entries first so exact names always win
+        ConfigurationSection overrides = section == null ? null : section.getConfigurationSection("delays");
+        if (overrides != null) {
+            List<String> keys = new ArrayList<>(overrides.getKeys(false));
+            keys.sort((a, b) -> Boolean.compare(!a.contains("*"), !b.contains("*")));
+            for (String key : keys) {
+                long delay = seconds(overrides.getLong(key, DEFAULT_DELAY_SECONDS));
+                boolean matched = false;
+                for (Material m : materials) {
+                    if (delays[m.ordinal()] != UNTRACKED && matches(key, m)) {
+                        delays[m.ordinal()] = delay;
+                        matched = true;
+                    }
+                }
+                if (!matched) logger.warning("[ResourceRegen] Delay override '" + key + "' matches no tracked material");
+            }
+        }
+
+        // Air variants and fluids are always replaceable; "replaceable" adds more (e.g. GLOW_LICHEN)
+        boolean[] replaceable = new boolean[materials.length];
+        for (Material m : materials) {
+            if (m.isAir()) replaceable[m.ordinal()] = true;
+        }
+        replaceable[Material.WATER.ordinal()] = true;
+        replaceable[Material.LAVA.ordinal()] = true;
+        if (section != null) {
+            for (String pattern : section.getStringList("replaceable")) mark(pattern, replaceable, true, logger);
+        }
+
+        Map<String, Boolean> worlds = new HashMap<>();
+        boolean defaultWorld = true;
+        ConfigurationSection worldSection = section == null ? null : section.getConfigurationSection("worlds");
+        if (worldSection != null) {
+            for (String key : worldSection.getKeys(false)) {
+                if (key.equalsIgnoreCase("default")) {
+                    defaultWorld = worldSection.getBoolean(key, true);
+                } else {
+                    worlds.put(key, worldSection.getBoolean(key, true));
+                }
+            }
+        }
+        return new RegenPolicy(delays, replaceable, worlds, defaultWorld, defaultDelay);
+    }
+
+    private static void mark(String pattern, boolean[] table, boolean value, Logger logger) {
+        boolean matched = false;
+        for (Material m : Material.values()) {
+            if (matches(pattern, m)) {
+                table[m.ordinal()] = value;
+                matched = true;
+            }
+        }
+        if (!matched) logger.warning("[ResourceRegen] Unknown material in regeneration policy: " + pattern);
+    }
+
+    // Material names may use a leading and/or trailing * wildcard, e.g. "*_ORE" or "DEEPSLATE_*"
+    private static boolean matches(String pattern, Material m) {
+        String p = pattern.trim().toUpperCase(Locale.ROOT);
+        String name = m.name();
+        boolean head = p.startsWith("*");
+        boolean tail = p.endsWith("*") && p.length() > 1;
+        String core = p.substring(head ? 1 : 0, tail ? p.length() - 1 : p.length());
+        if (head && tail) return name.contains(core);
+        if (head) return name.endsWith(core);
+        if (tail) return name.startsWith(core);
+        return name.equals(core);
+    }
+
+    private static long seconds(long s) {
+        return Math.max(0L, s) * 1000L;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.oregen;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bukkit.Material;
+
+import com.example.oregen.OreRegenPlugin.Area;
+import com.example.oregen.OreRegenPlugin.OreRecord;
+
+// Shares area edits, area names and tracked-block changes between servers behind one proxy.
+// Every save publishes what changed since the previous save as one binary batch through the
+// transport, and batches from other nodes are applied to the local index and storage; no node
+// ever sends or loads full state. Changes applied from other nodes are not recorded here,
+// so nothing is echoed back.
+final class Replication {
+
+    private static final int FORMAT = 2; // 2: retry attempts per block
+
+    record Rename(UUID owner, int areaId, String name) {}
+
+    // One batch. Areas are full copies; removals of blocks match position and due time as in Storage.
+    static final class Delta {
+        final List<Area> areas;
+        final List<Integer> deletedAreas;
+        final List<Rename> renames;
+        final List<OreRecord> addedBlocks;
+        final List<OreRecord> removedBlocks;
+
+        Delta(List<Area> areas, List<Integer> deletedAreas, List<Rename> renames,
+              List<OreRecord> addedBlocks, List<OreRecord> removedBlocks) {
+            this.areas = areas;
+            this.deletedAreas = deletedAreas;
+            this.renames = renames;
+            this.addedBlocks = addedBlocks;
+            this.removedBlocks = removedBlocks;
+        }
+
+        boolean isEmpty() {
+            return areas.isEmpty() && deletedAreas.isEmpty() && renames.isEmpty() && addedBlocks.isEmpty() && removedBlocks.isEmpty();
+        }
+    }
+
+    private final ReplicationTransport transport;
+    // Main thread outbox, drained into each save snapshot
+    private final Set<Integer> changedAreas = new LinkedHashSet<>();
+    private List<Rename> renames = new ArrayList<>();
+
+    Replication(ReplicationTransport transport) {
+        this.transport = transport;
+    }
+
+    void areaChanged(int areaId) {
+        changedAreas.add(areaId);
+    }
+
+    void renamed(UUID owner, int areaId, String name) {
+        renames.add(new Rename(owner, areaId, name));
+    }
+
+    // Main thread: the batch for a save snapshot, or null if there is nothing to send.
+    // areas is the snapshot's copy of every area, null when no area changed since the last save.
+    Delta drain(List<Area> areas, List<OreRecord> addedBlocks, List<OreRecord> removedBlocks) {
+        List<Area> changed = new ArrayList<>();
+        List<Integer> deleted = new ArrayList<>();
+        if (areas != null && !changedAreas.isEmpty()) {
+            Map<Integer, Area> byId = new HashMap<>();
+            for (Area a : areas) byId.put(a.id, a);
+            for (int id : changedAreas) {
+                Area a = byId.get(id);
+                if (a != null) {
+                    changed.add(a);
+                } else {
+                    deleted.add(id);
+                }
+            }
+            changedAreas.clear();
+        }
+        Delta delta = new Delta(changed, deleted, renames, addedBlocks, removedBlocks);
+        renames = new ArrayList<>();
+        return delta.isEmpty() ? null : delta;
+    }
+
+    // Storage thread
+    void publish(Delta delta) throws IOException {
+        transport.publish(encode(delta));
+    }
+
+    // Storage thread: batches other nodes published since the last poll, oldest first
+    List<Delta> poll() throws IOException {
+        List<Delta> deltas = new ArrayList<>();
+        for (byte[] batch : transport.poll()) deltas.add(decode(batch));
+        return deltas;
+    }
+
+    void close() {
+        transport.close();
+    }
+
+    static byte[] encode(Delta delta) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT);
+            byte[] areas = FileStorage.encodeAreas(delta.areas, 0);
+            out.writeInt(areas.length);
+            out.write(areas);
+            out.writeInt(delta.deletedAreas.size());
+            for (int id : delta.deletedAreas) out.writeInt(id);
+            out.writeInt(delta.renames.size());
+            for (Rename r : delta.renames) {
+                out.writeLong(r.owner().getMostSignificantBits());
+                out.writeLong(r.owner().getLeastSignificantBits());
+                out.writeInt(r.areaId());
+                out.writeUTF(r.name());
+            }
+            writeBlocks(out, delta.addedBlocks);
+            writeBlocks(out, delta.removedBlocks);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Cannot happen for an in-memory stream
+        }
+        return bytes.toByteArray();
+    }
+
+    static Delta decode(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int format = in.readInt();
+            if (format != FORMAT) throw new IOException("Unsupported replication format " + format);
+            byte[] areas = new byte[in.readInt()];
+            in.readFully(areas);
+            List<Area> changed = FileStorage.decodeAreas(areas).areas;
+            int deletedCount = in.readInt();
+            List<Integer> deleted = new ArrayList<>(deletedCount);
+            for (int i = 0; i < deletedCount; i++) deleted.add(in.readInt());
+            int renameCount = in.readInt();
+            List<Rename> renames = new ArrayList<>(renameCount);
+            for (int i = 0; i < renameCount; i++) {
+                renames.add(new Rename(new UUID(in.readLong(), in.readLong()), in.readInt(), in.readUTF()));
+            }
+            return new Delta(changed, deleted, renames, readBlocks(in), readBlocks(in));
+        }
+    }
+
+    private static void writeBlocks(DataOutputStream out, List<OreRecord> blocks) throws IOException {
+        out.writeInt(blocks.size());
+        for (OreRecord rec : blocks) {
+            out.writeUTF(rec.world);
+            out.writeInt(rec.x);
+            out.writeInt(rec.y);
+            out.writeInt(rec.z);
+            out.writeUTF(rec.type.name());
+            out.writeLong(rec.breakTime);
+            out.writeLong(rec.regenAt);
+            out.writeInt(rec.attempts);
+        }
+    }
+
+    private static List<OreRecord> readBlocks(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<OreRecord> blocks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String world = in.readUTF();
+            int x = in.readInt(), y = in.readInt(), z = in.readInt();
+            Material type = Material.matchMaterial(in.readUTF());
+            long breakTime = in.readLong(), regenAt = in.readLong();
+            int attempts = in.readInt();
+            if (type == null) continue;
+            OreRecord rec = new OreRecord(world, x, y, z, type, breakTime, regenAt);
+            rec.attempts = attempts;
+            blocks.add(rec);
+        }
+        return blocks;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.oregen;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+// Carries encoded replication batches between servers. Implementations only move bytes:
+// publish hands one batch to the other nodes, poll returns the batches other nodes published
+// since the last poll, each node's batches in the order it published them.
+// Called only from the plugin's storage thread.
+interface ReplicationTransport {
+
+    void publish(byte[] batch) throws IOException;
+
+    List<byte[]> poll() throws IOException;
+
+    void close();
+
+    // Open the configured transport. "file" exchanges batches through a directory every node
+    // can reach (a shared mount, or one folder for servers on the same host).
+    static ReplicationTransport open(String type, String node, File directory, long retentionMillis) throws IOException {
+        if ("file".equalsIgnoreCase(type)) return new FileTransport(node, directory, retentionMillis);
+        throw new IOException("Unknown replication transport: " + type);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.oregen;
+
+import java.util.logging.Logger;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+// Runtime settings read from config.yml, including the compiled regeneration policy.
+// Immutable: a reload builds a new instance (off the main thread for /oregenreload) and the
+// plugin swaps it in as a whole, so a tick never sees half of an old and half of a new config.
+final class Settings {
+
+    final int particleUpdateInterval; // Ticks
+    final boolean showParticlesToOwnersOnly;
+    final int regenBatchSize;
+    final int saveInterval; // Ticks
+    final int maxTrackedBlocks;
+    final int maxAreasPerPlayer;
+    final boolean unloadOfflineDetails;
+    final boolean veinMode; // Regenerate connected breaks of one material as a single vein
+    final int maxVeinSize;
+    final boolean blockPhysics; // Apply physics when placing regenerated blocks
+    final long retryDelay; // Milliseconds before the first retry of a blocked spot, doubling per attempt
+    final long retryMaxDelay;
+    final int retryAttempts; // Retries before a built-over spot is given up
+    final MiningHeatmap.Priority hotspotPriority; // Order of due blocks by how heavily their chunk is mined
+    final long snapshotTickBudget; // Nanoseconds of main-thread time per tick for area snapshots and restores
+    final RegenPolicy regenPolicy;
+
+    private Settings(ConfigurationSection config, RegenPolicy regenPolicy) {
+        particleUpdateInterval = Math.max(1, config.getInt("particle.update-interval", 5));
+        showParticlesToOwnersOnly = config.getBoolean("particle.show-to-owners-only", true);
+        regenBatchSize = Math.max(1, config.getInt("regeneration.batch-size", 2));
+        saveInterval = Math.max(20, config.getInt("regeneration.save-interval", 6000));
+        maxTrackedBlocks = Math.max(0, config.getInt("regeneration.max-tracked-blocks", 10000));
+        maxAreasPerPlayer = Math.max(0, config.getInt("area.max-areas-per-player", 3));
+        veinMode = config.getBoolean("regeneration.veins.enabled", true);
+        maxVeinSize = Math.max(1, config.getInt("regeneration.veins.max-size", 64));
+        blockPhysics = config.getBoolean("regeneration.block-physics", false);
+        retryDelay = Math.max(1, config.getLong("regeneration.retry.delay", 30)) * 1000L;
+        retryMaxDelay = Math.max(retryDelay, config.getLong("regeneration.retry.max-delay", 3600) * 1000L);
+        retryAttempts = Math.max(0, config.getInt("regeneration.retry.max-attempts", 8));
+        hotspotPriority = MiningHeatmap.Priority.parse(config.getString("regeneration.hotspot-priority", "none"));
+        snapshotTickBudget = Math.max(1, config.getLong("snapshots.tick-budget", 5)) * 1_000_000L;
+        unloadOfflineDetails = config.getBoolean("data.unload-offline-details", true);
+        this.regenPolicy = regenPolicy;
+    }
+
+    static Settings read(ConfigurationSection config, Logger log) {
+        return new Settings(config, RegenPolicy.compile(config.getConfigurationSection("regeneration"), log));
+    }
+
+    // Re-read after a single key changed (config GUI). The policy's wildcard matching over every
+    // Material is only redone when the key is one of the regeneration keys it is compiled from.
+    Settings with(ConfigurationSection config, Logger log, String changedPath) {
+        boolean policyKey = changedPath.startsWith("regeneration.") && RegenPolicy.uses(changedPath.substring("regeneration.".length()));
+        return policyKey ? read(config, log) : new Settings(config, regenPolicy);
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.oregen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.Material;
+
+import com.example.oregen.OreRegenPlugin.Area;
+import com.example.oregen.OreRegenPlugin.OreRecord;
+
+// Embedded SQLite backend (data.db in the plugin folder) using the driver bundled with Spigot.
+// Tracked blocks are indexed by due time and by (world, chunk), so the regen task and chunk loads
+// read only the rows they need instead of the whole history. Writes are batched per transaction.
+final class SqliteStorage implements Storage {
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS meta (key TEXT PRIMARY KEY, value INTEGER NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS areas (id INTEGER PRIMARY KEY, owner TEXT NOT NULL, world TEXT NOT NULL,"
+            + " x1 INTEGER NOT NULL, y1 INTEGER NOT NULL, z1 INTEGER NOT NULL,"
+            + " x2 INTEGER NOT NULL, y2 INTEGER NOT NULL, z2 INTEGER NOT NULL, trusted BLOB)",
+        "CREATE INDEX IF NOT EXISTS areas_owner ON areas (owner)",
+        "CREATE TABLE IF NOT EXISTS owners (uuid TEXT PRIMARY KEY, data BLOB NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS blocks (world TEXT NOT NULL, x INTEGER NOT NULL, y INTEGER NOT NULL, z INTEGER NOT NULL,"
+            + " chunk_x INTEGER NOT NULL, chunk_z INTEGER NOT NULL, type TEXT NOT NULL,"
+            + " break_time INTEGER NOT NULL, regen_at INTEGER NOT NULL, attempts INTEGER NOT NULL DEFAULT 0,"
+            + " PRIMARY KEY (world, x, y, z))",
+        "CREATE INDEX IF NOT EXISTS blocks_due ON blocks (regen_at)",
+        "CREATE INDEX IF NOT EXISTS blocks_chunk ON blocks (world, chunk_x, chunk_z, regen_at)"
+    };
+
+    private static final String BLOCK_COLUMNS = "world, x, y, z, type, break_time, regen_at, attempts";
+
+    private final Connection conn;
+
+    SqliteStorage(File file) throws IOException {
+        try {
+            Class.forName("org.sqlite.JDBC"); // Bundled with Spigot, but not always registered for plugin class loaders
+            File dir = file.getParentFile();
+            if (dir != null && !dir.exists() && !dir.mkdirs()) throw new IOException("Cannot create " + dir);
+            conn = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+            try (Statement st = conn.createStatement()) {
+                st.execute("PRAGMA journal_mode=WAL");
+                st.execute("PRAGMA synchronous=NORMAL");
+                for (String sql : SCHEMA) st.execute(sql);
+                addAttemptsColumn(st);
+            } catch (SQLException e) {
+                conn.close();
+                throw e;
+            }
+        } catch (ClassNotFoundException | SQLException e) {
+            throw new IOException("Cannot open " + file, e);
+        }
+    }
+
+    // Databases created before retry counts were saved
+    private static void addAttemptsColumn(Statement st) throws SQLException {
+        try (ResultSet rs = st.executeQuery("PRAGMA table_info(blocks)")) {
+            while (rs.next()) {
+                if ("attempts".equals(rs.getString("name"))) return;
+            }
+        }
+        st.execute("ALTER TABLE blocks ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0");
+    }
+
+    // --- Area index ---
+
+    @Override
+    public LoadedAreas loadAreas() throws IOException {
+        List<Area> areas = new ArrayList<>();
+        int nextId = 1;
+        try (Statement st = conn.createStatement()) {
+            try (ResultSet rs = st.executeQuery("SELECT id, owner, world, x1, y1, z1, x2, y2, z2, trusted FROM areas")) {
+                while (rs.next()) {
+                    int id = rs.getInt(1);
+                    Area a = new Area(id, UUID.fromString(rs.getString(2)), rs.getString(3),
+                        rs.getInt(4), rs.getInt(5), rs.getInt(6), rs.getInt(7), rs.getInt(8), rs.getInt(9));
+                    byte[] trusted = rs.getBytes(10);
+                    if (trusted != null) {
+                        ByteBuffer buf = ByteBuffer.wrap(trusted);
+                        while (buf.remaining() >= 16) a.addTrusted(new UUID(buf.getLong(), buf.getLong()));
+                    }
+                    areas.add(a);
+                    nextId = Math.max(nextId, id + 1);
+                }
+            }
+            try (ResultSet rs = st.executeQuery("SELECT value FROM meta WHERE key = 'next_area_id'")) {
+                if (rs.next()) nextId = Math.max(nextId, rs.getInt(1));
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+        return new LoadedAreas(areas, nextId);
+    }
+
+    @Override
+    public void saveAreas(List<Area> areas, int nextId) throws IOException {
+        transaction(() -> {
+            try (Statement st = conn.createStatement()) {
+                st.executeUpdate("DELETE FROM areas");
+            }
+            try (PreparedStatement ps = conn.prepareStatement("INSERT INTO areas VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (Area a : areas) {
+                    ps.setInt(1, a.id);
+                    ps.setString(2, a.owner.toString());
+                    ps.setString(3, a.world);
+                    ps.setInt(4, a.x1);
+                    ps.setInt(5, a.y1);
+                    ps.setInt(6, a.z1);
+                    ps.setInt(7, a.x2);
+                    ps.setInt(8, a.y2);
+                    ps.setInt(9, a.z2);
+                    List<UUID> trusted = a.getTrusted();
+                    ByteBuffer buf = ByteBuffer.allocate(trusted.size() * 16);
+                    for (UUID t : trusted) buf.putLong(t.getMostSignificantBits()).putLong(t.getLeastSignificantBits());
+                    ps.setBytes(10, buf.array());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            try (PreparedStatement ps = conn.prepareStatement("INSERT OR REPLACE INTO meta VALUES ('next_area_id', ?)")) {
+                ps.setInt(1, nextId);
+                ps.executeUpdate();
+            }
+        });
+    }
+
+    // --- Owner details ---
+
+    @Override
+    public OwnerDetails loadOwner(UUID owner) throws IOException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT data FROM owners WHERE uuid = ?")) {
+            ps.setString(1, owner.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? OwnerDetails.decode(rs.getBytes(1)) : null;
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void saveOwners(Map<UUID, byte[]> encoded) throws IOException {
+        if (encoded.isEmpty()) return;
+        transaction(() -> {
+            try (PreparedStatement ps = conn.prepareStatement("INSERT OR REPLACE INTO owners VALUES (?, ?)")) {
+                for (Map.Entry<UUID, byte[]> e : encoded.entrySet()) {
+                    ps.setString(1, e.getKey().toString());
+                    ps.setBytes(2, e.getValue());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public Map<Integer, String> loadAreaNames() throws IOException {
+        Map<Integer, String> names = new HashMap<>();
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("SELECT data FROM owners")) {
+            while (rs.next()) FileStorage.addNames(OwnerDetails.decode(rs.getBytes(1)), names);
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+        return names;
+    }
+
+    // --- Tracked blocks ---
+
+    @Override
+    public void saveBlocks(List<OreRecord> added, List<OreRecord> removed) throws IOException {
+        if (added.isEmpty() && removed.isEmpty()) return;
+        transaction(() -> {
+            if (!added.isEmpty()) {
+                try (PreparedStatement ps = conn.prepareStatement("INSERT OR REPLACE INTO blocks VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                    for (OreRecord rec : added) {
+                        ps.setString(1, rec.world);
+                        ps.setInt(2, rec.x);
+                        ps.setInt(3, rec.y);
+                        ps.setInt(4, rec.z);
+                        ps.setInt(5, rec.x >> 4);
+                        ps.setInt(6, rec.z >> 4);
+                        ps.setString(7, rec.type.name());
+                        ps.setLong(8, rec.breakTime);
+                        ps.setLong(9, rec.regenAt);
+                        ps.setInt(10, rec.attempts);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+            }
+            if (!removed.isEmpty()) {
+                try (PreparedStatement ps = conn.prepareStatement("DELETE FROM blocks WHERE world = ? AND x = ? AND y = ? AND z = ? AND regen_at = ?")) {
+                    for (OreRecord rec : removed) {
+                        ps.setString(1, rec.world);
+                        ps.setInt(2, rec.x);
+                        ps.setInt(3, rec.y);
+                        ps.setInt(4, rec.z);
+                        ps.setLong(5, rec.regenAt);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+            }
+        });
+    }
+
+    @Override
+    public List<OreRecord> loadBlocksDue(long from, long to, long brokenBefore, int limit) throws IOException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT " + BLOCK_COLUMNS
+                + " FROM blocks WHERE regen_at > ? AND regen_at <= ? AND break_time < ? ORDER BY regen_at LIMIT ?")) {
+            ps.setLong(1, from);
+            ps.setLong(2, to);
+            ps.setLong(3, brokenBefore);
+            ps.setInt(4, limit);
+            return readBlocks(ps);
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public List<OreRecord> loadBlocksInChunk(String world, int chunkX, int chunkZ, long dueBy) throws IOException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT " + BLOCK_COLUMNS
+                + " FROM blocks WHERE world = ? AND chunk_x = ? AND chunk_z = ? AND regen_at <= ?")) {
+            ps.setString(1, world);
+            ps.setInt(2, chunkX);
+            ps.setInt(3, chunkZ);
+            ps.setLong(4, dueBy);
+            return readBlocks(ps);
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public int capBlocks(int max) throws IOException {
+        try (Statement st = conn.createStatement()) {
+            int count;
+            try (ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM blocks")) {
+                count = rs.next() ? rs.getInt(1) : 0;
+            }
+            if (count <= max) return count;
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "DELETE FROM blocks WHERE rowid IN (SELECT rowid FROM blocks ORDER BY regen_at LIMIT ?)")) {
+                ps.setInt(1, count - max);
+                return count - ps.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+            // Nothing left to do at shutdown
+        }
+    }
+
+    private static List<OreRecord> readBlocks(PreparedStatement ps) throws SQLException {
+        List<OreRecord> result = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                Material type = Material.matchMaterial(rs.getString(5));
+                if (type == null) continue; // Material removed in a newer version
+                OreRecord rec = new OreRecord(rs.getString(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), type, rs.getLong(6), rs.getLong(7));
+                rec.attempts = rs.getInt(8);
+                result.add(rec);
+            }
+        }
+        return result;
+    }
+
+    private interface SqlWork {
+        void run() throws SQLException;
+    }
+
+    private void transaction(SqlWork work) throws IOException {
+        try {
+            conn.setAutoCommit(false);
+            try {
+                work.run();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.oregen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bukkit.Material;
+
+import com.example.oregen.OreRegenPlugin.Area;
+import com.example.oregen.OreRegenPlugin.OreRecord;
+
+// Persistence backend for areas, owner details and tracked blocks.
+// Implementations are not thread-safe: the plugin only calls them from its single storage
+// thread (and from onEnable/onDisable while that thread is idle), so calls never overlap.
+interface Storage {
+
+    // Result of loading the area index
+    final class LoadedAreas {
+        final List<Area> areas;
+        final int nextId;
+        LoadedAreas(List<Area> areas, int nextId) {
+            this.areas = areas;
+            this.nextId = nextId;
+        }
+    }
+
+    LoadedAreas loadAreas() throws IOException;
+
+    // Replace the stored index with this snapshot (copies, not live areas)
+    void saveAreas(List<Area> areas, int nextId) throws IOException;
+
+    // Details for this owner, or null if none were ever saved
+    OwnerDetails loadOwner(UUID owner) throws IOException;
+
+    void saveOwners(Map<UUID, byte[]> encoded) throws IOException;
+
+    // Custom area names of every owner by area id, read once at startup for the admin browser
+    Map<Integer, String> loadAreaNames() throws IOException;
+
+    // Tracked blocks are written as deltas. Removals match position and due time, so a record
+    // for a block that was broken again since is left alone.
+    void saveBlocks(List<OreRecord> added, List<OreRecord> removed) throws IOException;
+
+    // Up to limit records due in (from, to] that were broken before brokenBefore, soonest first
+    List<OreRecord> loadBlocksDue(long from, long to, long brokenBefore, int limit) throws IOException;
+
+    // Records in one chunk that are due by the given time
+    List<OreRecord> loadBlocksInChunk(String world, int chunkX, int chunkZ, long dueBy) throws IOException;
+
+    // Delete the soonest-due records beyond max (regeneration.max-tracked-blocks) and return how
+    // many remain; run at startup so rows carried over from earlier sessions stay within the cap
+    int capBlocks(int max) throws IOException;
+
+    void close();
+
+    // Open the configured backend. "sqlite" keeps everything in data.db and imports the old
+    // files on first use; "file" (or a SQLite driver that cannot be loaded) uses FileStorage.
+    // The import goes into a temporary database that only becomes data.db once it is complete,
+    // so a failed import leaves the old files in charge and is retried on the next start.
+    // legacyDelay supplies due times for records saved before per-material delays existed.
+    static Storage open(File dataFolder, String type, ToLongFunction<Material> legacyDelay, Logger log) throws IOException {
+        FileStorage files = new FileStorage(dataFolder, legacyDelay, log);
+        if (!"sqlite".equalsIgnoreCase(type)) return files;
+        File db = new File(dataFolder, "data.db");
+        if (!db.exists() && files.hasData()) {
+            File tmp = new File(dataFolder, "data.db.import");
+            Files.deleteIfExists(tmp.toPath()); // Left over from a failed attempt
+            SqliteStorage sqlite;
+            try {
+                sqlite = new SqliteStorage(tmp);
+            } catch (IOException e) {
+                log.log(Level.WARNING, "[ResourceRegen] SQLite storage unavailable, using file storage", e);
+                return files;
+            }
+            try {
+                importFiles(files, sqlite, log);
+            } catch (IOException | RuntimeException e) {
+                sqlite.close();
+                Files.deleteIfExists(tmp.toPath());
+                throw e;
+            }
+            sqlite.close();
+            Files.move(tmp.toPath(), db.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        }
+        try {
+            return new SqliteStorage(db);
+        } catch (IOException e) {
+            log.log(Level.WARNING, "[ResourceRegen] SQLite storage unavailable, using file storage", e);
+            return files;
+        }
+    }
+
+    private static void importFiles(FileStorage files, SqliteStorage sqlite, Logger log) throws IOException {
+        LoadedAreas areas = files.loadAreas();
+        sqlite.saveAreas(areas.areas, areas.nextId);
+        for (UUID owner : files.ownerIds()) {
+            OwnerDetails d = files.loadOwner(owner);
+            if (d != null) sqlite.saveOwners(Map.of(owner, d.encode()));
+        }
+        List<OreRecord> blocks = files.loadBlocksDue(Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+        sqlite.saveBlocks(blocks, List.of());
+        log.info("[ResourceRegen] Imported " + areas.areas.size() + " areas and " + blocks.size() + " tracked blocks into data.db");
+    }
+}